@@ -0,0 +1,80 @@
+package com.applandeo.materialcalendarview.benchmarks;
+
+import com.applandeo.materialcalendarview.model.EventDay;
+import com.applandeo.materialcalendarview.utils.DateUtils;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * This class creates synthetic data sets used by benchmarks. All data sets start at the same day,
+ * so results of different runs are comparable.
+ */
+final class Datasets {
+
+    /**
+     * Epoch day of 2015-01-01, the first day of all data sets
+     */
+    static final int FIRST_DAY = DateUtils.getEpochDay(2015, Calendar.JANUARY, 1);
+
+    /**
+     * A number of days in ten years, the longest selection span
+     */
+    static final int TEN_YEARS = 3653;
+
+    private Datasets() {
+    }
+
+    /**
+     * @param count A number of following days
+     * @return List of Calendar objects of following days starting at {@link #FIRST_DAY}
+     */
+    static List<Calendar> days(int count) {
+        List<Calendar> days = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            days.add(DateUtils.getCalendar(FIRST_DAY + i));
+        }
+
+        return days;
+    }
+
+    /**
+     * @param count A number of days
+     * @param step  A number of days between two following days
+     * @return List of Calendar objects of days separated by given step
+     */
+    static List<Calendar> everyNthDay(int count, int step) {
+        List<Calendar> days = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            days.add(DateUtils.getCalendar(FIRST_DAY + i * step));
+        }
+
+        return days;
+    }
+
+    /**
+     * This method spreads events over ten years, so large data sets have many events per day
+     *
+     * @param count A number of events
+     * @return List of EventDay objects
+     */
+    static List<EventDay> events(int count) {
+        List<EventDay> events = new ArrayList<>(count);
+        Calendar[] days = new Calendar[Math.min(count, TEN_YEARS)];
+
+        for (int i = 0; i < count; i++) {
+            int index = i % days.length;
+
+            if (days[index] == null) {
+                days[index] = DateUtils.getCalendar(FIRST_DAY + index);
+            }
+
+            events.add(new EventDay(days[index]));
+        }
+
+        return events;
+    }
+}
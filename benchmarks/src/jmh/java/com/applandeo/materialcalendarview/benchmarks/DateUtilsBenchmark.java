@@ -0,0 +1,72 @@
+package com.applandeo.materialcalendarview.benchmarks;
+
+import com.applandeo.materialcalendarview.utils.CalendarUtils;
+import com.applandeo.materialcalendarview.utils.DateUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * Benchmarks of date conversions and comparisons called for every cell and every swipe
+ */
+@State(Scope.Thread)
+public class DateUtilsBenchmark {
+
+    /**
+     * A number of days between the first and the last day of a range
+     */
+    @Param({"7", "365", "3653"})
+    public int span;
+
+    private Calendar mFirstDay;
+    private Calendar mLastDay;
+    private int mLastEpochDay;
+
+    @Setup
+    public void setUp() {
+        mFirstDay = DateUtils.getCalendar(Datasets.FIRST_DAY);
+        mLastDay = DateUtils.getCalendar(Datasets.FIRST_DAY + span);
+        mLastEpochDay = Datasets.FIRST_DAY + span;
+    }
+
+    @Benchmark
+    public int getEpochDay() {
+        return DateUtils.getEpochDay(mLastDay);
+    }
+
+    @Benchmark
+    public Calendar getCalendar() {
+        return DateUtils.getCalendar(mLastEpochDay);
+    }
+
+    @Benchmark
+    public int getYearMonth() {
+        return DateUtils.getYearMonth(mLastEpochDay);
+    }
+
+    @Benchmark
+    public boolean isMonthBefore() {
+        return DateUtils.isMonthBefore(mLastDay, mFirstDay);
+    }
+
+    @Benchmark
+    public boolean isToday() {
+        return DateUtils.isToday(mLastDay);
+    }
+
+    @Benchmark
+    public int getMonthsBetweenDates() {
+        return DateUtils.getMonthsBetweenDates(mFirstDay, mLastDay);
+    }
+
+    @Benchmark
+    public List<Calendar> getDatesRange() {
+        return CalendarUtils.getDatesRange(mFirstDay, mLastDay);
+    }
+}
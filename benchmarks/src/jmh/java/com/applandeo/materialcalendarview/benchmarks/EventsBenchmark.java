@@ -0,0 +1,50 @@
+package com.applandeo.materialcalendarview.benchmarks;
+
+import com.applandeo.materialcalendarview.model.EventDay;
+import com.applandeo.materialcalendarview.utils.CalendarProperties;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Benchmarks of indexing events and looking up events of a day
+ */
+@State(Scope.Thread)
+public class EventsBenchmark {
+
+    /**
+     * A number of events spread over ten years
+     */
+    @Param({"100", "10000", "1000000"})
+    public int events;
+
+    private List<EventDay> mEvents;
+    private CalendarProperties mCalendarProperties;
+    private int mDay;
+
+    @Setup
+    public void setUp() {
+        mEvents = Datasets.events(events);
+
+        mCalendarProperties = new CalendarProperties();
+        mCalendarProperties.setEventDays(mEvents);
+    }
+
+    @Benchmark
+    public CalendarProperties setEventDays() {
+        mCalendarProperties.setEventDays(mEvents);
+        return mCalendarProperties;
+    }
+
+    @Benchmark
+    public EventDay getEventDay() {
+        // Looks up following days of ten years, so both days with and without events are measured
+        mDay = (mDay + 1) % Datasets.TEN_YEARS;
+        return mCalendarProperties.getEventDay(Datasets.FIRST_DAY + mDay);
+    }
+}
@@ -0,0 +1,71 @@
+package com.applandeo.materialcalendarview.benchmarks;
+
+import com.applandeo.materialcalendarview.CalendarView;
+import com.applandeo.materialcalendarview.model.MonthGrid;
+import com.applandeo.materialcalendarview.utils.CalendarProperties;
+import com.applandeo.materialcalendarview.utils.DateUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Calendar;
+
+/**
+ * Benchmark of building a page model and resolving a state of its 42 cells, the same as
+ * CalendarPageAdapter and CalendarDayAdapter do when a page is bound. Views aren't involved,
+ * so it measures only the date math and lookups.
+ */
+@State(Scope.Thread)
+public class PageModelBenchmark {
+
+    private static final int MONTHS = 120;
+
+    /**
+     * A number of events spread over ten years
+     */
+    @Param({"100", "10000", "1000000"})
+    public int events;
+
+    /**
+     * A number of selected days of a range
+     */
+    @Param({"30", "3653"})
+    public int span;
+
+    private CalendarProperties mCalendarProperties;
+    private int mFirstYearMonth;
+    private int mMonth;
+
+    @Setup
+    public void setUp() {
+        mCalendarProperties = new CalendarProperties();
+        mCalendarProperties.setCalendarType(CalendarView.RANGE_PICKER);
+        mCalendarProperties.setEventDays(Datasets.events(events));
+        mCalendarProperties.setSelectedDays(Datasets.days(span));
+        mCalendarProperties.setDisabledDays(Datasets.everyNthDay(Datasets.TEN_YEARS / 7, 7));
+
+        mFirstYearMonth = DateUtils.getYearMonth(Datasets.FIRST_DAY);
+    }
+
+    @Benchmark
+    public void bindPage(Blackhole blackhole) {
+        // Following pages of ten years are bound, so months aren't served from a cache
+        mMonth = (mMonth + 1) % MONTHS;
+        MonthGrid monthGrid = MonthGrid.fromYearMonth(mFirstYearMonth + mMonth, Calendar.MONDAY);
+
+        for (int position = 0; position < MonthGrid.CELLS_COUNT; position++) {
+            int epochDay = monthGrid.getEpochDay(position);
+
+            blackhole.consume(monthGrid.getDayOfMonth(position));
+            blackhole.consume(monthGrid.isPageMonthDay(position));
+            blackhole.consume(mCalendarProperties.isBetweenMinAndMax(epochDay));
+            blackhole.consume(mCalendarProperties.isDisabledDay(epochDay));
+            blackhole.consume(mCalendarProperties.isSelectedDay(epochDay));
+            blackhole.consume(mCalendarProperties.getEventDay(epochDay));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.applandeo.materialcalendarview.benchmarks;
+
+import com.applandeo.materialcalendarview.CalendarView;
+import com.applandeo.materialcalendarview.utils.CalendarProperties;
+import com.applandeo.materialcalendarview.utils.EpochDaySet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * Benchmarks of setting selected and disabled days spanning from a month up to ten years
+ */
+@State(Scope.Thread)
+public class SelectionBenchmark {
+
+    /**
+     * A number of selected or disabled days
+     */
+    @Param({"30", "365", "3653"})
+    public int span;
+
+    private List<Calendar> mDays;
+    private List<Calendar> mEveryOtherDay;
+    private int[] mEpochDays;
+
+    private CalendarProperties mManyDaysProperties;
+    private CalendarProperties mRangeProperties;
+    private CalendarProperties mDisabledDaysProperties;
+
+    @Setup
+    public void setUp() {
+        mDays = Datasets.days(span);
+        mEveryOtherDay = Datasets.everyNthDay(span / 2, 2);
+
+        mEpochDays = new int[span];
+        for (int i = 0; i < span; i++) {
+            mEpochDays[i] = Datasets.FIRST_DAY + i;
+        }
+
+        mManyDaysProperties = new CalendarProperties();
+        mManyDaysProperties.setCalendarType(CalendarView.MANY_DAYS_PICKER);
+
+        // Every other day is a separate interval, which is the worst case of exporting intervals
+        mManyDaysProperties.setSelectedDays(mEveryOtherDay);
+
+        mRangeProperties = new CalendarProperties();
+        mRangeProperties.setCalendarType(CalendarView.RANGE_PICKER);
+
+        mDisabledDaysProperties = new CalendarProperties();
+    }
+
+    @Benchmark
+    public CalendarProperties setSelectedDays() {
+        mManyDaysProperties.setSelectedDays(mDays);
+        return mManyDaysProperties;
+    }
+
+    @Benchmark
+    public CalendarProperties setSelectedEpochDays() {
+        EpochDaySet selectedDays = new EpochDaySet();
+        selectedDays.addAll(mEpochDays);
+        mManyDaysProperties.setSelectedEpochDays(selectedDays);
+        return mManyDaysProperties;
+    }
+
+    @Benchmark
+    public int[] getSelectedIntervals() {
+        return mManyDaysProperties.getSelectedEpochDays().toIntervals();
+    }
+
+    @Benchmark
+    public CalendarProperties setSelectedRange() {
+        mRangeProperties.setSelectedDays(mDays);
+        return mRangeProperties;
+    }
+
+    @Benchmark
+    public CalendarProperties setDisabledDays() {
+        mDisabledDaysProperties.setDisabledDays(mEveryOtherDay);
+        return mDisabledDaysProperties;
+    }
+
+    @Benchmark
+    public CalendarProperties addDisabledDays() {
+        mDisabledDaysProperties.addDisabledDays(mDays.get(0), mDays.get(mDays.size() - 1));
+        return mDisabledDaysProperties;
+    }
+}
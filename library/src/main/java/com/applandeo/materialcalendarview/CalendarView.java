@@ -2,7 +2,9 @@ package com.applandeo.materialcalendarview;
 
 import android.content.Context;
 import android.content.res.TypedArray;
-import android.support.annotation.ArrayRes;
+import android.os.AsyncTask;
+import android.os.Parcel;
+import android.os.Parcelable;
 import android.support.v4.view.ViewPager;
 import android.util.AttributeSet;
 import android.view.LayoutInflater;
@@ -16,17 +18,27 @@ import com.applandeo.materialcalendarview.adapters.CalendarPageAdapter;
 import com.applandeo.materialcalendarview.exceptions.ErrorsMessages;
 import com.applandeo.materialcalendarview.exceptions.OutOfDateRangeException;
 import com.applandeo.materialcalendarview.extensions.CalendarViewPager;
+import com.applandeo.materialcalendarview.listeners.CalendarPerformanceListener;
+import com.applandeo.materialcalendarview.listeners.EventSource;
 import com.applandeo.materialcalendarview.listeners.OnCalendarPageChangeListener;
 import com.applandeo.materialcalendarview.listeners.OnDayClickListener;
+import com.applandeo.materialcalendarview.model.DisabledDayRule;
 import com.applandeo.materialcalendarview.model.EventDay;
+import com.applandeo.materialcalendarview.model.RecurringEvent;
 import com.applandeo.materialcalendarview.model.SelectedDay;
 import com.applandeo.materialcalendarview.utils.AppearanceUtils;
 import com.applandeo.materialcalendarview.utils.CalendarProperties;
 import com.applandeo.materialcalendarview.utils.DateUtils;
+import com.applandeo.materialcalendarview.utils.DisabledDayRules;
+import com.applandeo.materialcalendarview.utils.EpochDayList;
+import com.applandeo.materialcalendarview.utils.EpochDaySet;
+import com.applandeo.materialcalendarview.utils.MonthEventsLoader;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static com.applandeo.materialcalendarview.utils.CalendarProperties.FIRST_VISIBLE_PAGE;
 
@@ -62,6 +74,8 @@ import static com.applandeo.materialcalendarview.utils.CalendarProperties.FIRST_
  * - Set disabled day label background resource: disabledDayBackgroundSrc="@drawable/[drawable]"
  * - Set disabled day label text appearance: disabledDayTextAppearance="@style/[appearance]"
  * - Set events are enabled: eventsEnabled="[true/false]"
+ * - Set pages are drawn on a canvas instead of a view per day: canvasRenderingEnabled="[true/false]"
+ * - Set a number of months prepared ahead while scrolling: prefetchDepth="[number]"
  * - Set calendar type: type="classic or one_day_picker or many_days_picker or range_picker"
  * <p>
  * Created by Mateusz Kornakiewicz on 23.05.2017.
@@ -201,6 +215,12 @@ public class CalendarView extends LinearLayout {
                 mCalendarProperties.getCalendarType() == CLASSIC);
         mCalendarProperties.setEventsEnabled(eventsEnabled);
 
+        boolean canvasRenderingEnabled = typedArray.getBoolean(R.styleable.CalendarView_canvasRenderingEnabled, false);
+        mCalendarProperties.setCanvasRenderingEnabled(canvasRenderingEnabled);
+
+        int prefetchDepth = typedArray.getInt(R.styleable.CalendarView_prefetchDepth, mCalendarProperties.getPrefetchDepth());
+        mCalendarProperties.setPrefetchDepth(prefetchDepth);
+
         int calendarType = typedArray.getInt(R.styleable.CalendarView_type, CLASSIC);
         mCalendarProperties.setCalendarType(calendarType);
     }
@@ -219,7 +239,7 @@ public class CalendarView extends LinearLayout {
         AppearanceUtils.setHeaderLabelTextAppearance(getRootView(), mCalendarProperties.getMonthNameTextAppearance());
 
         AppearanceUtils.setDayNames(getRootView(),
-                mCalendarProperties.getDayNames(),
+                mCalendarProperties.getDayNamesArray(mContext),
                 mCalendarProperties.getDayNameTextAppearance(),
                 mCalendarProperties.getFirstPageCalendarDate().getFirstDayOfWeek());
 
@@ -247,6 +267,9 @@ public class CalendarView extends LinearLayout {
         mCurrentMonthLabel = findViewById(R.id.currentDateLabel);
 
         mViewPager = findViewById(R.id.calendarViewPager);
+
+        // Positions of months depend on the minimum date, so CalendarView saves a month of the current page
+        mViewPager.setSaveEnabled(false);
     }
 
     private void initCalendar() {
@@ -254,6 +277,7 @@ public class CalendarView extends LinearLayout {
 
         mViewPager.setAdapter(mCalendarPageAdapter);
         mViewPager.addOnPageChangeListener(onPageChangeListener);
+        mViewPager.setPerformanceTracer(mCalendarProperties.getPerformanceTracer());
 
         setUpCalendarPosition(Calendar.getInstance());
     }
@@ -265,10 +289,28 @@ public class CalendarView extends LinearLayout {
             mCalendarProperties.setSelectedDay(calendar);
         }
 
-        mCalendarProperties.getFirstPageCalendarDate().setTime(calendar.getTime());
-        mCalendarProperties.getFirstPageCalendarDate().add(Calendar.MONTH, -FIRST_VISIBLE_PAGE);
+        showMonthPage(DateUtils.getYearMonth(calendar));
+    }
+
+    /**
+     * This method sizes pages to the minimum and maximum dates around given month and shows its page.
+     * Pages are reloaded, because positions of months are changed.
+     *
+     * @param yearMonth A number of months since year 0, it's moved between the minimum and maximum dates
+     */
+    private void showMonthPage(int yearMonth) {
+        int previousFirstPageYearMonth = mCalendarProperties.getFirstPageYearMonth();
+
+        yearMonth = Math.min(yearMonth, mCalendarProperties.getMaximumYearMonth());
+        mCalendarProperties.setFirstPageYearMonth(yearMonth - FIRST_VISIBLE_PAGE);
+        yearMonth = Math.max(yearMonth, mCalendarProperties.getFirstPageYearMonth());
 
-        mViewPager.setCurrentItem(FIRST_VISIBLE_PAGE);
+        // Page change listeners compare positions, so the last position is moved with its month
+        mCurrentPage += previousFirstPageYearMonth - mCalendarProperties.getFirstPageYearMonth();
+
+        mCalendarPageAdapter.reloadPages();
+        mViewPager.setCurrentItem(yearMonth - mCalendarProperties.getFirstPageYearMonth(), false);
+        mCurrentMonthLabel.setText(mCalendarProperties.getHeaderLabel(mContext, yearMonth));
     }
 
     public void setOnPreviousPageChangeListener(OnCalendarPageChangeListener listener) {
@@ -287,6 +329,17 @@ public class CalendarView extends LinearLayout {
         mCalendarProperties.setOnDayClickListener(onDayClickListener);
     }
 
+    /**
+     * This method sets a listener receiving durations of rendering sections and accesses of caches.
+     * Sections are also marked in systrace, even if no listener is set.
+     *
+     * @param performanceListener CalendarPerformanceListener interface or null to stop timing
+     * @see CalendarPerformanceListener
+     */
+    public void setPerformanceListener(CalendarPerformanceListener performanceListener) {
+        mCalendarProperties.setPerformanceListener(performanceListener);
+    }
+
     private final OnClickListener onNextClickListener =
             v -> mViewPager.setCurrentItem(mViewPager.getCurrentItem() + 1);
 
@@ -296,6 +349,7 @@ public class CalendarView extends LinearLayout {
     private final ViewPager.OnPageChangeListener onPageChangeListener = new ViewPager.OnPageChangeListener() {
         @Override
         public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+            mCalendarPageAdapter.onPageScrolled(position, positionOffset, mViewPager.getCurrentItem());
         }
 
         /**
@@ -306,12 +360,7 @@ public class CalendarView extends LinearLayout {
          */
         @Override
         public void onPageSelected(int position) {
-            Calendar calendar = (Calendar) mCalendarProperties.getFirstPageCalendarDate().clone();
-            calendar.add(Calendar.MONTH, position);
-
-            if (!isScrollingLimited(calendar, position)) {
-                setHeaderName(calendar, position, mCalendarProperties.getMonthNames());
-            }
+            setHeaderName(mCalendarProperties.getFirstPageYearMonth() + position, position);
         }
 
         @Override
@@ -319,22 +368,8 @@ public class CalendarView extends LinearLayout {
         }
     };
 
-    private boolean isScrollingLimited(Calendar calendar, int position) {
-        if (DateUtils.isMonthBefore(mCalendarProperties.getMinimumDate(), calendar)) {
-            mViewPager.setCurrentItem(position + 1);
-            return true;
-        }
-
-        if (DateUtils.isMonthAfter(mCalendarProperties.getMaximumDate(), calendar)) {
-            mViewPager.setCurrentItem(position - 1);
-            return true;
-        }
-
-        return false;
-    }
-
-    private void setHeaderName(Calendar calendar, int position, @ArrayRes int monthLabels) {
-        mCurrentMonthLabel.setText(DateUtils.getMonthAndYearDate(mContext, calendar, monthLabels));
+    private void setHeaderName(int yearMonth, int position) {
+        mCurrentMonthLabel.setText(mCalendarProperties.getHeaderLabel(mContext, yearMonth));
         callOnPageChangeListeners(position);
     }
 
@@ -369,18 +404,17 @@ public class CalendarView extends LinearLayout {
      * @param date A Calendar object representing a date to which the calendar will be set
      */
     public void setDate(Calendar date) throws OutOfDateRangeException {
-        if (mCalendarProperties.getMinimumDate() != null && date.before(mCalendarProperties.getMinimumDate())) {
+        int epochDay = DateUtils.getEpochDay(date);
+
+        if (epochDay < mCalendarProperties.getMinimumDay()) {
             throw new OutOfDateRangeException(ErrorsMessages.OUT_OF_RANGE_MIN);
         }
 
-        if (mCalendarProperties.getMaximumDate() != null && date.after(mCalendarProperties.getMaximumDate())) {
+        if (epochDay > mCalendarProperties.getMaximumDay()) {
             throw new OutOfDateRangeException(ErrorsMessages.OUT_OF_RANGE_MAX);
         }
 
         setUpCalendarPosition(date);
-
-        mCurrentMonthLabel.setText(DateUtils.getMonthAndYearDate(mContext, date, mCalendarProperties.getMonthNames()));
-        mCalendarPageAdapter.notifyDataSetChanged();
     }
 
     /**
@@ -392,23 +426,139 @@ public class CalendarView extends LinearLayout {
      */
     public void setEvents(List<EventDay> eventDays) {
         if (mCalendarProperties.getEventsEnabled()) {
+            // Only days which had or have an event are rebound
+            EpochDaySet changedDays = mCalendarProperties.getEventEpochDays();
             mCalendarProperties.setEventDays(eventDays);
-            mCalendarPageAdapter.notifyDataSetChanged();
+            changedDays.addAll(mCalendarProperties.getEventEpochDays());
+
+            mCalendarPageAdapter.notifyDaysChanged(changedDays);
+        }
+    }
+
+    /**
+     * This method sets events repeated daily, weekly, monthly or yearly. Their occurrences are
+     * created only for displayed months, so they don't have to be expanded to EventDay objects.
+     * Events set by {@link #setEvents(List)} are still displayed. The list has to be set again
+     * when any of its events is changed.
+     *
+     * @param recurringEvents List of RecurringEvent objects
+     */
+    public void setRecurringEvents(List<RecurringEvent> recurringEvents) {
+        if (mCalendarProperties.getEventsEnabled()) {
+            mCalendarProperties.setRecurringEvents(recurringEvents);
+
+            // Occurrences of any displayed day can be changed
+            mCalendarPageAdapter.notifyDaysChanged(Integer.MIN_VALUE, Integer.MAX_VALUE);
         }
     }
 
     /**
-     * @return List of Calendar object representing a selected dates
+     * This method sets a source of events loaded per month. Events of a month are loaded
+     * on a background thread when the month is displayed and cached, so they don't have to be
+     * loaded before the calendar is shown. Events set by {@link #setEvents(List)} are still displayed.
+     *
+     * @param eventSource EventSource object or null to stop loading events
+     * @see EventSource
+     */
+    public void setEventSource(EventSource eventSource) {
+        setEventSource(eventSource, AsyncTask.THREAD_POOL_EXECUTOR);
+    }
+
+    /**
+     * @param eventSource EventSource object or null to stop loading events
+     * @param executor    Executor on which {@link EventSource#load(Calendar, EventSource.Callback)} is called
+     * @see #setEventSource(EventSource)
+     */
+    public void setEventSource(EventSource eventSource, Executor executor) {
+        if (!mCalendarProperties.getEventsEnabled()) {
+            return;
+        }
+
+        if (mCalendarProperties.getMonthEventsLoader() != null) {
+            mCalendarProperties.getMonthEventsLoader().release();
+        }
+
+        mCalendarProperties.setMonthEventsLoader(eventSource == null ? null
+                : new MonthEventsLoader(eventSource, executor, mCalendarPageAdapter::notifyDaysChanged,
+                mCalendarProperties.getPerformanceTracer()));
+
+        // Rebinding all displayed days starts loading their months
+        mCalendarPageAdapter.notifyDaysChanged(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return Sorted list of Calendar objects representing all selected days
      */
     public List<Calendar> getSelectedDates() {
-        return Stream.of(mCalendarPageAdapter.getSelectedDays())
-                .map(SelectedDay::getCalendar)
-                .sortBy(calendar -> calendar).toList();
+        return new ArrayList<>(getSelectedDatesView());
+    }
+
+    /**
+     * This method returns selected days without creating a Calendar object for every day,
+     * an object is created only when an element of the list is accessed
+     *
+     * @return Sorted read-only list of selected days
+     */
+    public EpochDayList getSelectedDatesView() {
+        return new EpochDayList(getSelectedEpochDays());
+    }
+
+    /**
+     * @return Sorted array of epoch days of all selected days
+     * @see DateUtils#getEpochDay(Calendar)
+     */
+    public int[] getSelectedEpochDays() {
+        return mCalendarProperties.getSelectedEpochDays().toArray();
+    }
+
+    /**
+     * @return Sorted array of pairs of the first and the last epoch day of every run of
+     * consecutive selected days
+     */
+    public int[] getSelectedIntervals() {
+        return mCalendarProperties.getSelectedEpochDays().toIntervals();
     }
 
     public void setSelectedDates(List<Calendar> selectedDates) {
+        // Only days which were or are selected are rebound
+        EpochDaySet changedDays = mCalendarProperties.getSelectedEpochDays();
         mCalendarProperties.setSelectedDays(selectedDates);
-        mCalendarPageAdapter.notifyDataSetChanged();
+        notifySelectionChanged(changedDays);
+    }
+
+    /**
+     * This method selects given days in time linear to a number of days, without creating
+     * a Calendar object for every day
+     *
+     * @param epochDays Array of epoch days in any order
+     * @see DateUtils#getEpochDay(Calendar)
+     */
+    public void setSelectedEpochDays(int[] epochDays) {
+        EpochDaySet selectedDays = new EpochDaySet();
+        selectedDays.addAll(epochDays);
+        setSelectedEpochDays(selectedDays);
+    }
+
+    /**
+     * This method selects all days of given intervals, see {@link #getSelectedIntervals()}
+     *
+     * @param intervals Array of pairs of the first and the last epoch day of every interval
+     */
+    public void setSelectedIntervals(int[] intervals) {
+        EpochDaySet selectedDays = new EpochDaySet();
+        selectedDays.addIntervals(intervals);
+        setSelectedEpochDays(selectedDays);
+    }
+
+    private void setSelectedEpochDays(EpochDaySet selectedDays) {
+        EpochDaySet changedDays = mCalendarProperties.getSelectedEpochDays();
+        mCalendarProperties.setSelectedEpochDays(selectedDays);
+        notifySelectionChanged(changedDays);
+    }
+
+    private void notifySelectionChanged(EpochDaySet previousDays) {
+        previousDays.addAll(mCalendarProperties.getSelectedEpochDays());
+        mCalendarPageAdapter.notifyDaysChanged(previousDays);
     }
 
     /**
@@ -437,6 +587,10 @@ public class CalendarView extends LinearLayout {
         return calendar;
     }
 
+    private int getCurrentPageYearMonth() {
+        return mCalendarProperties.getFirstPageYearMonth() + mViewPager.getCurrentItem();
+    }
+
     /**
      * This method set a minimum available date in calendar
      *
@@ -444,6 +598,7 @@ public class CalendarView extends LinearLayout {
      */
     public void setMinimumDate(Calendar calendar) {
         mCalendarProperties.setMinimumDate(calendar);
+        showMonthPage(getCurrentPageYearMonth());
     }
 
     /**
@@ -453,20 +608,88 @@ public class CalendarView extends LinearLayout {
      */
     public void setMaximumDate(Calendar calendar) {
         mCalendarProperties.setMaximumDate(calendar);
+        showMonthPage(getCurrentPageYearMonth());
     }
 
     /**
      * This method is used to return to current month page
      */
     public void showCurrentMonthPage() {
-        mViewPager.setCurrentItem(mViewPager.getCurrentItem()
-                - DateUtils.getMonthsBetweenDates(DateUtils.getCalendar(), getCurrentPageDate()), true);
+        // ViewPager moves positions out of pages to the first or the last page
+        mViewPager.setCurrentItem(DateUtils.getYearMonth(DateUtils.getCalendar())
+                - mCalendarProperties.getFirstPageYearMonth(), true);
+    }
+
+    /**
+     * This method switches a way how calendar pages are rendered. When it's enabled, every page
+     * is a single MonthView drawn on a canvas, instead of a GridView with a view per day.
+     *
+     * @param canvasRenderingEnabled Boolean value if pages should be drawn on a canvas
+     */
+    public void setCanvasRenderingEnabled(boolean canvasRenderingEnabled) {
+        mCalendarProperties.setCanvasRenderingEnabled(canvasRenderingEnabled);
+        mCalendarPageAdapter.reloadPages();
+        invalidatePageHeight();
+    }
+
+    // Heights of cells can be changed by a rendering mode or a cell layout, so grids measure them again
+    private void invalidatePageHeight() {
+        mCalendarPageAdapter.invalidateCellHeights();
+        mViewPager.invalidatePageHeight();
+    }
+
+    /**
+     * This method sets how many months following the current page in a direction of scrolling
+     * are prepared on a background thread, before their pages are displayed. The page next to
+     * the current one is always kept by ViewPager, so preparing starts after it.
+     *
+     * @param prefetchDepth A number of months, 0 disables prefetching
+     */
+    public void setPrefetchDepth(int prefetchDepth) {
+        mCalendarProperties.setPrefetchDepth(prefetchDepth);
     }
 
     public void setDisabledDays(List<Calendar> disabledDays) {
         mCalendarProperties.setDisabledDays(disabledDays);
     }
 
+    /**
+     * This method disables all days between given dates (inclusive). It doesn't need a Calendar
+     * object for every day, so it should be used to disable long periods.
+     *
+     * @param firstDay Calendar object representing the first disabled day
+     * @param lastDay  Calendar object representing the last disabled day
+     */
+    public void addDisabledDays(Calendar firstDay, Calendar lastDay) {
+        mCalendarProperties.addDisabledDays(firstDay, lastDay);
+    }
+
+    /**
+     * This method disables days matching the rule, i.e. weekends or holidays. Rules are evaluated
+     * only for displayed months, so they should be used instead of listing days of many years.
+     *
+     * @param disabledDayRule DisabledDayRule object, see {@link DisabledDayRules}
+     */
+    public void addDisabledDayRule(DisabledDayRule disabledDayRule) {
+        mCalendarProperties.addDisabledDayRule(disabledDayRule);
+        rebindAllDays();
+    }
+
+    public void removeDisabledDayRule(DisabledDayRule disabledDayRule) {
+        mCalendarProperties.removeDisabledDayRule(disabledDayRule);
+        rebindAllDays();
+    }
+
+    public void clearDisabledDayRules() {
+        mCalendarProperties.clearDisabledDayRules();
+        rebindAllDays();
+    }
+
+    private void rebindAllDays() {
+        // Any day of the displayed pages can be changed by a rule
+        mCalendarPageAdapter.notifyDaysChanged(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
     /**
      * Sets what the first day of the week is; e.g,
      * {@link Calendar#SUNDAY} in the U.S.,
@@ -477,5 +700,104 @@ public class CalendarView extends LinearLayout {
     public void setFirstDayOfWeek(int day) {
         mCalendarProperties.setFirstDayOfWeek(day);
         initAttributes();
+        invalidatePageHeight();
+    }
+
+    /**
+     * This method saves the month of the current page, selected days and disabled days.
+     * Days are saved as runs of consecutive days, so a long selection takes a few bytes.
+     * Events, disabled day rules and the minimum and maximum dates aren't saved.
+     */
+    @Override
+    protected Parcelable onSaveInstanceState() {
+        SavedState savedState = new SavedState(super.onSaveInstanceState());
+
+        savedState.mCurrentYearMonth = getCurrentPageYearMonth();
+        savedState.mSelectedIntervals = getSelectedIntervals();
+        savedState.mDisabledIntervals = mCalendarProperties.getDisabledEpochDays().toIntervals();
+
+        return savedState;
+    }
+
+    @Override
+    protected void onRestoreInstanceState(Parcelable state) {
+        if (!(state instanceof SavedState)) {
+            super.onRestoreInstanceState(state);
+            return;
+        }
+
+        SavedState savedState = (SavedState) state;
+        super.onRestoreInstanceState(savedState.getSuperState());
+
+        // Disabled days are restored first, because they are removed from the selection
+        EpochDaySet disabledDays = new EpochDaySet();
+        disabledDays.addIntervals(savedState.mDisabledIntervals);
+        mCalendarProperties.setDisabledEpochDays(disabledDays);
+
+        EpochDaySet selectedDays = new EpochDaySet();
+        selectedDays.addIntervals(savedState.mSelectedIntervals);
+        restoreSelectedDays(selectedDays);
+
+        // Pages are reloaded, so all days are rebound
+        showMonthPage(savedState.mCurrentYearMonth);
+    }
+
+    private void restoreSelectedDays(EpochDaySet selectedDays) {
+        if (selectedDays.isEmpty()) {
+            return;
+        }
+
+        int calendarType = mCalendarProperties.getCalendarType();
+
+        if (calendarType == ONE_DAY_PICKER) {
+            mCalendarProperties.setSelectedDay(DateUtils.getCalendar(selectedDays.firstDay()));
+            return;
+        }
+
+        // Disabled days aren't selected, so a saved range can be split into many runs
+        if (calendarType == RANGE_PICKER && selectedDays.size() > 1) {
+            mCalendarProperties.setSelectedRange(new SelectedDay(DateUtils.getCalendar(selectedDays.firstDay())),
+                    new SelectedDay(DateUtils.getCalendar(selectedDays.lastDay())));
+            return;
+        }
+
+        mCalendarProperties.setSelectedEpochDays(selectedDays);
+    }
+
+    static class SavedState extends BaseSavedState {
+        private int mCurrentYearMonth;
+        private int[] mSelectedIntervals;
+        private int[] mDisabledIntervals;
+
+        SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        private SavedState(Parcel source) {
+            super(source);
+            mCurrentYearMonth = source.readInt();
+            mSelectedIntervals = source.createIntArray();
+            mDisabledIntervals = source.createIntArray();
+        }
+
+        @Override
+        public void writeToParcel(Parcel dest, int flags) {
+            super.writeToParcel(dest, flags);
+            dest.writeInt(mCurrentYearMonth);
+            dest.writeIntArray(mSelectedIntervals);
+            dest.writeIntArray(mDisabledIntervals);
+        }
+
+        public static final Parcelable.Creator<SavedState> CREATOR = new Parcelable.Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel source) {
+                return new SavedState(source);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
     }
 }
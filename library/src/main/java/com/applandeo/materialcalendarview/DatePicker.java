@@ -92,8 +92,10 @@ public class DatePicker {
     }
 
     private void setTodayButtonVisibility() {
-        if (DateUtils.isMonthAfter(mCalendarProperties.getMaximumDate(), DateUtils.getCalendar())
-                || DateUtils.isMonthBefore(mCalendarProperties.getMinimumDate(), DateUtils.getCalendar())) {
+        int currentYearMonth = DateUtils.getYearMonth(DateUtils.getToday());
+
+        if (currentYearMonth > mCalendarProperties.getMaximumYearMonth()
+                || currentYearMonth < mCalendarProperties.getMinimumYearMonth()) {
             mTodayButton.setVisibility(View.GONE);
         }
     }
@@ -1,106 +1,216 @@
 package com.applandeo.materialcalendarview.adapters;
 
 import android.content.Context;
+import android.graphics.drawable.Drawable;
 import android.support.annotation.NonNull;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.ArrayAdapter;
+import android.widget.AdapterView;
+import android.widget.BaseAdapter;
 import android.widget.ImageView;
 import android.widget.TextView;
 
-import com.annimon.stream.Stream;
 import com.applandeo.materialcalendarview.CalendarView;
 import com.applandeo.materialcalendarview.R;
+import com.applandeo.materialcalendarview.extensions.EventsSummaryDrawable;
+import com.applandeo.materialcalendarview.listeners.CalendarPerformanceListener;
+import com.applandeo.materialcalendarview.model.EventsSummary;
+import com.applandeo.materialcalendarview.model.MonthGrid;
 import com.applandeo.materialcalendarview.model.SelectedDay;
 import com.applandeo.materialcalendarview.utils.AppearanceUtils;
 import com.applandeo.materialcalendarview.utils.CalendarProperties;
 import com.applandeo.materialcalendarview.utils.DateUtils;
-import com.applandeo.materialcalendarview.utils.ImageUtils;
+import com.applandeo.materialcalendarview.utils.EpochDaySet;
+import com.applandeo.materialcalendarview.utils.IconDrawables;
+import com.applandeo.materialcalendarview.utils.PerformanceTracer;
 
-import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Date;
-import java.util.GregorianCalendar;
+import java.util.List;
 
 /**
  * This class is responsible for loading a one day cell.
  * <p>
  * Created by Mateusz Kornakiewicz on 24.05.2017.
  */
-class CalendarDayAdapter extends ArrayAdapter<Date> {
+class CalendarDayAdapter extends BaseAdapter {
 
+    // Labels of days are shared by all cells, so binding a cell doesn't create a new string
+    private static final String[] DAY_LABELS = new String[32];
+
+    static {
+        for (int i = 1; i < DAY_LABELS.length; i++) {
+            DAY_LABELS[i] = String.valueOf(i).intern();
+        }
+    }
+
+    private Context mContext;
     private LayoutInflater mLayoutInflater;
     private CalendarPageAdapter mCalendarPageAdapter;
-    private int mPageMonth;
-    private Calendar mToday = DateUtils.getCalendar();
+    private int mToday;
 
     private CalendarProperties mCalendarProperties;
 
+    private MonthGrid mMonthGrid;
+    private int mMinimumDay;
+    private int mMaximumDay;
+
+    // Drawables of event images are shared by cells of the page
+    private final IconDrawables mIconDrawables;
+
     CalendarDayAdapter(Context context,
                        CalendarPageAdapter calendarPageAdapter,
                        CalendarProperties calendarProperties,
-                       ArrayList<Date> dates,
-                       int pageMonth) {
+                       MonthGrid monthGrid) {
 
-        super(context, calendarProperties.getDayItemLayoutResource(), dates);
+        mContext = context;
         mLayoutInflater = LayoutInflater.from(context);
         mCalendarPageAdapter = calendarPageAdapter;
         mCalendarProperties = calendarProperties;
-        mPageMonth = pageMonth < 0 ? 11 : pageMonth;
+        mMonthGrid = monthGrid;
+
+        mIconDrawables = new IconDrawables(context,
+                context.getResources().getDimensionPixelSize(R.dimen.day_icon_width),
+                context.getResources().getDimensionPixelSize(R.dimen.day_icon_height),
+                calendarProperties.getPerformanceTracer());
+
+        loadDaysRange();
+    }
+
+    /**
+     * This method is used to show another month in a recycled page, cells of the page are
+     * rebound instead of inflated again
+     *
+     * @param monthGrid MonthGrid object representing days of the new page
+     */
+    void setMonthGrid(MonthGrid monthGrid) {
+        mMonthGrid = monthGrid;
+
+        loadDaysRange();
+        notifyDataSetChanged();
+    }
+
+    private void loadDaysRange() {
+        mToday = DateUtils.getToday();
+
+        mMinimumDay = mCalendarProperties.getMinimumDay();
+        mMaximumDay = mCalendarProperties.getMaximumDay();
+    }
+
+    /**
+     * This method rebinds cells of given days displayed in the page, other cells are untouched
+     *
+     * @param gridView GridView showing cells of the adapter
+     * @param firstDay Epoch day of the first changed day
+     * @param lastDay  Epoch day of the last changed day
+     */
+    void rebindDays(AdapterView<?> gridView, int firstDay, int lastDay) {
+        int pageFirstDay = mMonthGrid.getFirstEpochDay();
+        int from = Math.max(firstDay, pageFirstDay);
+        int to = Math.min(lastDay, pageFirstDay + MonthGrid.CELLS_COUNT - 1);
+
+        for (int day = from; day <= to; day++) {
+            rebindCell(gridView, day - pageFirstDay);
+        }
+    }
+
+    /**
+     * This method rebinds cells of given days displayed in the page, other cells are untouched
+     *
+     * @param gridView GridView showing cells of the adapter
+     * @param days     Set of changed epoch days
+     */
+    void rebindDays(AdapterView<?> gridView, EpochDaySet days) {
+        int pageFirstDay = mMonthGrid.getFirstEpochDay();
+        int pageLastDay = pageFirstDay + MonthGrid.CELLS_COUNT - 1;
+
+        for (int day = days.nextDay(pageFirstDay);
+             day != EpochDaySet.NONE && day <= pageLastDay;
+             day = days.nextDay(day + 1)) {
+            rebindCell(gridView, day - pageFirstDay);
+        }
+    }
+
+    private void rebindCell(AdapterView<?> gridView, int position) {
+        View cell = gridView.getChildAt(position - gridView.getFirstVisiblePosition());
+
+        if (cell != null) {
+            getView(position, cell, gridView);
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return MonthGrid.CELLS_COUNT;
+    }
+
+    /**
+     * @return Date object representing a day of the cell, it's created on every call
+     */
+    @Override
+    public Date getItem(int position) {
+        return DateUtils.getCalendar(mMonthGrid.getEpochDay(position)).getTime();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return mMonthGrid.getEpochDay(position);
     }
 
     @NonNull
     @Override
     public View getView(int position, View view, @NonNull ViewGroup parent) {
+        PerformanceTracer performanceTracer = mCalendarProperties.getPerformanceTracer();
+        long startTime = performanceTracer.beginSection(CalendarPerformanceListener.SECTION_CELL_BIND);
+
+        DayViewHolder viewHolder;
+
         if (view == null) {
             view = mLayoutInflater.inflate(mCalendarProperties.getDayItemLayoutResource(), parent, false);
+            viewHolder = new DayViewHolder(mContext, view);
+            view.setTag(viewHolder);
+        } else {
+            viewHolder = (DayViewHolder) view.getTag();
         }
 
-        TextView dayLabel = view.findViewById(R.id.dayLabel);
-        ImageView dayIcon = view.findViewById(R.id.dayIcon);
-
-        Calendar day = new GregorianCalendar();
-        day.setTime(getItem(position));
-
         // Loading an image of the event
-        if (dayIcon != null) {
-            loadIcon(dayIcon, day);
+        if (viewHolder.mDayIcon != null) {
+            loadIcon(viewHolder, position);
         }
 
-        setLabelColors(dayLabel, day);
+        setLabelColors(viewHolder.mDayLabel, position);
+
+        viewHolder.mDayLabel.setText(DAY_LABELS[mMonthGrid.getDayOfMonth(position)]);
 
-        dayLabel.setText(String.valueOf(day.get(Calendar.DAY_OF_MONTH)));
+        performanceTracer.endSection(CalendarPerformanceListener.SECTION_CELL_BIND, startTime);
 
         return view;
     }
 
-    private void setLabelColors(TextView dayLabel, Calendar day) {
+    private void setLabelColors(TextView dayLabel, int position) {
 
         // Setting disabled days color
-        if (isDisabledDay(day)) {
+        if (isDisabledDay(position)) {
             AppearanceUtils.setDisabledDayTextAppearance(dayLabel, mCalendarProperties);
             return;
         }
 
         // Setting selected days color
-        if (isSelectedDay(day)) {
-            Stream.of(mCalendarPageAdapter.getSelectedDays())
-                    .filter(selectedDay -> selectedDay.getCalendar().equals(day))
-                    .findFirst().ifPresent(selectedDay -> selectedDay.setView(dayLabel));
+        if (isSelectedDay(position)) {
+            setSelectedDayView(dayLabel, mMonthGrid.getEpochDay(position));
 
             AppearanceUtils.setSelectedDayTextAppearance(dayLabel, mCalendarProperties);
             return;
         }
 
         // Setting today color
-        if (isToday(day)) {
+        if (isToday(position)) {
             AppearanceUtils.setTodayTextAppearance(dayLabel, mCalendarProperties);
             return;
         }
 
         // Setting current month day color
-        if (isCurrentMonthDay(day)) {
+        if (isCurrentMonthDay(position)) {
             AppearanceUtils.setCurrentMonthDayTextAppearance(dayLabel, mCalendarProperties);
             return;
         }
@@ -109,41 +219,83 @@ class CalendarDayAdapter extends ArrayAdapter<Date> {
         AppearanceUtils.setAnotherMonthDayTextAppearance(dayLabel, mCalendarProperties);
     }
 
-    private boolean isSelectedDay(Calendar day) {
+    // Remembers a label of the selected day, so its color can be changed when it's unselected
+    private void setSelectedDayView(TextView dayLabel, int epochDay) {
+        // The many days picker resets a label of a clicked day, so a list of selected days isn't needed
+        if (mCalendarProperties.getCalendarType() == CalendarView.MANY_DAYS_PICKER) {
+            return;
+        }
+
+        List<SelectedDay> selectedDays = mCalendarPageAdapter.getSelectedDays();
+
+        for (int i = 0; i < selectedDays.size(); i++) {
+            SelectedDay selectedDay = selectedDays.get(i);
+
+            if (DateUtils.getEpochDay(selectedDay.getCalendar()) == epochDay) {
+                selectedDay.setView(dayLabel);
+                return;
+            }
+        }
+    }
+
+    private boolean isSelectedDay(int position) {
         return mCalendarProperties.getCalendarType() != CalendarView.CLASSIC
-                && day.get(Calendar.MONTH) == mPageMonth
-                && mCalendarPageAdapter.getSelectedDays().contains(new SelectedDay(day));
+                && mMonthGrid.isPageMonthDay(position)
+                && mCalendarProperties.isSelectedDay(mMonthGrid.getEpochDay(position));
     }
 
-    private boolean isDisabledDay(Calendar day) {
-        return mCalendarProperties.getDisabledDays().contains(day);
+    private boolean isDisabledDay(int position) {
+        return mCalendarProperties.isDisabledDay(mMonthGrid.getEpochDay(position));
     }
 
-    private boolean isToday(Calendar day) {
-        return DateUtils.isDateEquals(day, mToday);
+    private boolean isToday(int position) {
+        return mMonthGrid.getEpochDay(position) == mToday;
     }
 
-    private boolean isCurrentMonthDay(Calendar day) {
-        return day.get(Calendar.MONTH) == mPageMonth
-                && !((mCalendarProperties.getMinimumDate() != null && day.before(mCalendarProperties.getMinimumDate()))
-                || (mCalendarProperties.getMaximumDate() != null && day.after(mCalendarProperties.getMaximumDate())));
+    private boolean isCurrentMonthDay(int position) {
+        int epochDay = mMonthGrid.getEpochDay(position);
+
+        return mMonthGrid.isPageMonthDay(position) && epochDay >= mMinimumDay && epochDay <= mMaximumDay;
     }
 
-    private void loadIcon(ImageView dayIcon, Calendar day) {
+    private void loadIcon(DayViewHolder viewHolder, int position) {
+        ImageView dayIcon = viewHolder.mDayIcon;
+
         if (mCalendarProperties.getEventDays() == null || !mCalendarProperties.getEventsEnabled()) {
             dayIcon.setVisibility(View.GONE);
             return;
         }
 
-        Stream.of(mCalendarProperties.getEventDays()).filter(eventDate ->
-                eventDate.getCalendar().equals(day)).findFirst().executeIfPresent(eventDay -> {
+        EventsSummary eventsSummary = mCalendarProperties.getEventsSummary(mMonthGrid.getEpochDay(position));
 
-            ImageUtils.loadImage(dayIcon, eventDay.getImageDrawable());
+        if (eventsSummary == null) {
+            dayIcon.setImageDrawable(null);
+            return;
+        }
 
-            // If a day doesn't belong to current month then image is transparent
-            if (!isCurrentMonthDay(day) || !isDisabledDay(day)) {
-                dayIcon.setAlpha(0.12f);
-            }
-        });
+        // The summary is precomputed, so binding doesn't depend on a number of events of the day
+        Drawable icon = eventsSummary.getImageDrawable() == null ? null
+                : mIconDrawables.get(eventsSummary.getImageDrawable());
+
+        viewHolder.mEventsSummaryDrawable.setEventsSummary(eventsSummary, icon);
+        dayIcon.setImageDrawable(viewHolder.mEventsSummaryDrawable);
+
+        // If a day doesn't belong to current month or it's disabled then image is transparent
+        dayIcon.setAlpha(!isCurrentMonthDay(position) || isDisabledDay(position) ? 0.12f : 1f);
+    }
+
+    /**
+     * This class keeps views of a day cell, so they aren't searched every time the cell is bound
+     */
+    private static class DayViewHolder {
+        private final TextView mDayLabel;
+        private final ImageView mDayIcon;
+        private final EventsSummaryDrawable mEventsSummaryDrawable;
+
+        DayViewHolder(Context context, View view) {
+            mDayLabel = view.findViewById(R.id.dayLabel);
+            mDayIcon = view.findViewById(R.id.dayIcon);
+            mEventsSummaryDrawable = mDayIcon == null ? null : new EventsSummaryDrawable(context);
+        }
     }
 }
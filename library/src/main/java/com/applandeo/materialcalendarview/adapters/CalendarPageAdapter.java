@@ -1,21 +1,27 @@
 package com.applandeo.materialcalendarview.adapters;
 
 import android.content.Context;
+import android.os.AsyncTask;
 import android.support.annotation.NonNull;
 import android.support.v4.view.PagerAdapter;
+import android.util.LruCache;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
 import com.applandeo.materialcalendarview.R;
 import com.applandeo.materialcalendarview.extensions.CalendarGridView;
+import com.applandeo.materialcalendarview.extensions.MonthView;
+import com.applandeo.materialcalendarview.listeners.CalendarPerformanceListener;
 import com.applandeo.materialcalendarview.listeners.DayRowClickListener;
+import com.applandeo.materialcalendarview.model.MonthGrid;
 import com.applandeo.materialcalendarview.model.SelectedDay;
 import com.applandeo.materialcalendarview.utils.CalendarProperties;
+import com.applandeo.materialcalendarview.utils.DateUtils;
+import com.applandeo.materialcalendarview.utils.EpochDaySet;
+import com.applandeo.materialcalendarview.utils.PerformanceTracer;
 
 import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Date;
 import java.util.List;
 
 /**
@@ -25,27 +31,124 @@ import java.util.List;
  */
 public class CalendarPageAdapter extends PagerAdapter {
 
+    // Two years of months around the current page
+    private static final int MONTH_GRIDS_CACHE_SIZE = 24;
+
+    // ViewPager keeps the current page and one page on each side of it
+    private static final int RECYCLED_PAGES_POOL_SIZE = 3;
+
     private Context mContext;
-    private CalendarGridView mCalendarGridView;
 
     private CalendarProperties mCalendarProperties;
 
-    private int mPageMonth;
+    private final LruCache<Integer, MonthGrid> mMonthGrids = new LruCache<>(MONTH_GRIDS_CACHE_SIZE);
+
+    // Pages removed from ViewPager, they are rebound with another month instead of inflated again
+    private final List<View> mRecycledPages = new ArrayList<>(RECYCLED_PAGES_POOL_SIZE);
+
+    // Pages currently added to ViewPager, only they have to be updated when days are changed
+    private final List<View> mPages = new ArrayList<>(RECYCLED_PAGES_POOL_SIZE);
+
+    private final MonthPrefetcher mMonthPrefetcher;
+
+    private boolean mPagesInvalidated;
 
     public CalendarPageAdapter(Context context, CalendarProperties calendarProperties) {
         mContext = context;
         mCalendarProperties = calendarProperties;
+        mMonthPrefetcher = new MonthPrefetcher(context, calendarProperties, this, AsyncTask.THREAD_POOL_EXECUTOR);
         informDatePicker();
     }
 
     @Override
     public int getCount() {
-        return CalendarProperties.CALENDAR_SIZE;
+        return mCalendarProperties.getPageCount();
     }
 
     @Override
     public int getItemPosition(@NonNull Object object) {
-        return PagerAdapter.POSITION_NONE;
+        return mPagesInvalidated ? PagerAdapter.POSITION_NONE : PagerAdapter.POSITION_UNCHANGED;
+    }
+
+    /**
+     * This method reloads all pages of ViewPager. It should be used only when months of pages
+     * are changed, i.e. after setting a new date. Use {@link #notifyDaysChanged(int, int)}
+     * or {@link #notifyDaysChanged(EpochDaySet)} when only some days are changed.
+     */
+    public void reloadPages() {
+        mMonthPrefetcher.reset();
+        mPagesInvalidated = true;
+        notifyDataSetChanged();
+        mPagesInvalidated = false;
+    }
+
+    /**
+     * This method drops cached heights of grid pages, it should be used when a height of day cells
+     * can be changed, i.e. after changing a text appearance or a rendering mode
+     */
+    public void invalidateCellHeights() {
+        invalidateCellHeights(mPages);
+        invalidateCellHeights(mRecycledPages);
+    }
+
+    private static void invalidateCellHeights(List<View> pages) {
+        for (int i = 0; i < pages.size(); i++) {
+            View page = pages.get(i);
+
+            if (page instanceof CalendarGridView) {
+                ((CalendarGridView) page).invalidateCellHeight();
+            }
+        }
+    }
+
+    /**
+     * This method prepares months following the current page when ViewPager starts scrolling
+     *
+     * @param position       Position of the first visible page, see ViewPager.OnPageChangeListener
+     * @param positionOffset Offset of the first visible page
+     * @param currentItem    Position of the current page
+     */
+    public void onPageScrolled(int position, float positionOffset, int currentItem) {
+        mMonthPrefetcher.onPageScrolled(position, positionOffset, currentItem);
+    }
+
+    /**
+     * This method rebinds cells of given days in pages added to ViewPager, other cells and pages
+     * not containing any of the days are untouched
+     *
+     * @param firstDay Epoch day of the first changed day
+     * @param lastDay  Epoch day of the last changed day
+     */
+    public void notifyDaysChanged(int firstDay, int lastDay) {
+        for (int i = 0; i < mPages.size(); i++) {
+            View page = mPages.get(i);
+
+            if (page instanceof MonthView) {
+                ((MonthView) page).invalidateDays(firstDay, lastDay);
+            } else {
+                CalendarGridView calendarGridView = (CalendarGridView) page;
+                ((CalendarDayAdapter) calendarGridView.getAdapter()).rebindDays(calendarGridView, firstDay, lastDay);
+            }
+        }
+    }
+
+    /**
+     * This method rebinds cells of given days in pages added to ViewPager, other cells and pages
+     * not containing any of the days are untouched
+     *
+     * @param days Set of changed epoch days
+     */
+    public void notifyDaysChanged(EpochDaySet days) {
+        for (int i = 0; i < mPages.size(); i++) {
+            View page = mPages.get(i);
+
+            if (page instanceof MonthView) {
+                ((MonthView) page).invalidateDays(days);
+            } else {
+                CalendarGridView calendarGridView = (CalendarGridView) page;
+                ((CalendarDayAdapter) calendarGridView.getAdapter()).rebindDays(calendarGridView, days);
+            }
+        }
     }
 
     @Override
@@ -56,28 +159,100 @@ public class CalendarPageAdapter extends PagerAdapter {
     @NonNull
     @Override
     public Object instantiateItem(@NonNull ViewGroup container, int position) {
-        LayoutInflater inflater = LayoutInflater.from(mContext);
-        mCalendarGridView = (CalendarGridView) inflater
-                .inflate(R.layout.calendar_view_grid, container, false);
+        PerformanceTracer performanceTracer = mCalendarProperties.getPerformanceTracer();
+        long startTime = performanceTracer.beginSection(CalendarPerformanceListener.SECTION_PAGE_INSTANTIATE);
+
+        try {
+            MonthGrid monthGrid = getMonthGrid(position);
+
+            DayRowClickListener dayRowClickListener =
+                    new DayRowClickListener(this, mCalendarProperties, monthGrid.getYearMonth());
 
-        loadMonth(position);
+            View page = mCalendarProperties.getCanvasRenderingEnabled()
+                    ? loadMonthView(monthGrid, dayRowClickListener)
+                    : loadGridView(container, monthGrid, dayRowClickListener);
 
-        mCalendarGridView.setOnItemClickListener(
-                new DayRowClickListener(this, mCalendarProperties, mPageMonth));
+            container.addView(page);
+            mPages.add(page);
 
-        container.addView(mCalendarGridView);
+            return page;
+        } finally {
+            performanceTracer.endSection(CalendarPerformanceListener.SECTION_PAGE_INSTANTIATE, startTime);
+        }
+    }
+
+    /**
+     * This method fill calendar GridView with days, a recycled GridView is rebound
+     * instead of inflating a new one
+     */
+    private CalendarGridView loadGridView(ViewGroup container, MonthGrid monthGrid,
+                                          DayRowClickListener dayRowClickListener) {
+        CalendarGridView calendarGridView = obtainRecycledPage(CalendarGridView.class);
+
+        if (calendarGridView == null) {
+            calendarGridView = (CalendarGridView) LayoutInflater.from(mContext)
+                    .inflate(R.layout.calendar_view_grid, container, false);
+
+            calendarGridView.setAdapter(new CalendarDayAdapter(mContext, this,
+                    mCalendarProperties, monthGrid));
+        } else {
+            ((CalendarDayAdapter) calendarGridView.getAdapter()).setMonthGrid(monthGrid);
+        }
+
+        calendarGridView.setCellLayoutResource(mCalendarProperties.getDayItemLayoutResource());
+        calendarGridView.setOnItemClickListener(dayRowClickListener);
 
-        return mCalendarGridView;
+        return calendarGridView;
+    }
+
+    /**
+     * This method creates a page drawn on a canvas, used when canvas rendering is enabled
+     */
+    private MonthView loadMonthView(MonthGrid monthGrid, DayRowClickListener dayRowClickListener) {
+        MonthView monthView = obtainRecycledPage(MonthView.class);
+
+        if (monthView == null) {
+            return new MonthView(mContext, mCalendarProperties, monthGrid, dayRowClickListener);
+        }
+
+        monthView.bind(monthGrid, dayRowClickListener);
+
+        return monthView;
+    }
+
+    /**
+     * @param pageClass Class of a page used by current rendering mode
+     * @return A page removed from ViewPager before or null if there is no page to reuse
+     */
+    private <T extends View> T obtainRecycledPage(Class<T> pageClass) {
+        PerformanceTracer performanceTracer = mCalendarProperties.getPerformanceTracer();
+
+        if (mRecycledPages.isEmpty()) {
+            performanceTracer.onCacheAccess(CalendarPerformanceListener.CACHE_RECYCLED_PAGES, false);
+            return null;
+        }
+
+        View page = mRecycledPages.remove(mRecycledPages.size() - 1);
+
+        // Rendering mode has been changed, so none of recycled pages can be used
+        if (!pageClass.isInstance(page)) {
+            mRecycledPages.clear();
+            performanceTracer.onCacheAccess(CalendarPerformanceListener.CACHE_RECYCLED_PAGES, false);
+            return null;
+        }
+
+        performanceTracer.onCacheAccess(CalendarPerformanceListener.CACHE_RECYCLED_PAGES, true);
+        return pageClass.cast(page);
     }
 
     public void addOrRemoveSelectedDay(SelectedDay selectedDay) {
-        if (!mCalendarProperties.getSelectedDays().contains(selectedDay)) {
-            mCalendarProperties.getSelectedDays().add(selectedDay);
+        if (!mCalendarProperties.isSelectedDay(DateUtils.getEpochDay(selectedDay.getCalendar()))) {
+            mCalendarProperties.addSelectedDay(selectedDay);
             informDatePicker();
             return;
         }
 
-        mCalendarProperties.getSelectedDays().remove(selectedDay);
+        mCalendarProperties.removeSelectedDay(selectedDay);
         informDatePicker();
     }
 
@@ -94,61 +269,67 @@ public class CalendarPageAdapter extends PagerAdapter {
         informDatePicker();
     }
 
+    public void setSelectedRange(SelectedDay firstDay, SelectedDay lastDay) {
+        mCalendarProperties.setSelectedRange(firstDay, lastDay);
+        informDatePicker();
+    }
+
     /**
      * This method inform DatePicker about ability to return selected days
      */
     private void informDatePicker() {
         if (mCalendarProperties.getOnSelectionAbilityListener() != null) {
             mCalendarProperties.getOnSelectionAbilityListener()
-                    .onChange(mCalendarProperties.getSelectedDays().size() > 0);
+                    .onChange(mCalendarProperties.hasSelectedDays());
         }
     }
 
     /**
-     * This method fill calendar GridView with days
+     * This method returns days of the page. Grids are cached by a month, so revisiting a month
+     * doesn't compute them again.
      *
-     * @param position Position of current page in ViewPager
+     * @param position Position of the page in ViewPager
+     * @return MonthGrid object representing days of the page
      */
-    private void loadMonth(int position) {
-        ArrayList<Date> days = new ArrayList<>();
+    public MonthGrid getMonthGrid(int position) {
+        PerformanceTracer performanceTracer = mCalendarProperties.getPerformanceTracer();
+        long startTime = performanceTracer.beginSection(CalendarPerformanceListener.SECTION_MONTH_MODEL_BUILD);
 
-        // Get Calendar object instance
-        Calendar calendar = (Calendar) mCalendarProperties.getFirstPageCalendarDate().clone();
+        int yearMonth = mCalendarProperties.getFirstPageYearMonth() + position;
+        int firstDayOfWeek = mCalendarProperties.getFirstPageCalendarDate().getFirstDayOfWeek();
 
-        // Add months to Calendar (a number of months depends on ViewPager position)
-        calendar.add(Calendar.MONTH, position);
+        MonthGrid monthGrid = mMonthGrids.get(yearMonth);
+        boolean hit = monthGrid != null && monthGrid.getFirstDayOfWeek() == firstDayOfWeek;
 
-        // Set day of month as 1
-        calendar.set(Calendar.DAY_OF_MONTH, 1);
-
-        // Get a number of the first day of the week
-        int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
+        if (!hit) {
+            monthGrid = MonthGrid.fromYearMonth(yearMonth, firstDayOfWeek);
+            mMonthGrids.put(yearMonth, monthGrid);
+        }
 
-        // Count when month is beginning
-        int firstDayOfWeek = calendar.getFirstDayOfWeek();
-        int monthBeginningCell = (dayOfWeek < firstDayOfWeek ? 7 : 0) + dayOfWeek - firstDayOfWeek;
+        performanceTracer.onCacheAccess(CalendarPerformanceListener.CACHE_MONTH_GRIDS, hit);
+        performanceTracer.endSection(CalendarPerformanceListener.SECTION_MONTH_MODEL_BUILD, startTime);
 
-        // Subtract a number of beginning days, it will let to load a part of a previous month
-        calendar.add(Calendar.DAY_OF_MONTH, -monthBeginningCell);
+        return monthGrid;
+    }
 
-        /*
-        Get all days of one page (42 is a number of all possible cells in one page
-        (a part of previous month, current month and a part of next month))
-         */
-        while (days.size() < 42) {
-            days.add(calendar.getTime());
-            calendar.add(Calendar.DAY_OF_MONTH, 1);
+    /**
+     * This method adds a grid built ahead by {@link MonthPrefetcher}, LruCache is synchronized,
+     * so it can be called on any thread
+     */
+    void putMonthGrid(MonthGrid monthGrid) {
+        if (mMonthGrids.get(monthGrid.getYearMonth()) == null) {
+            mMonthGrids.put(monthGrid.getYearMonth(), monthGrid);
         }
-
-        mPageMonth = calendar.get(Calendar.MONTH) - 1;
-        CalendarDayAdapter calendarDayAdapter = new CalendarDayAdapter(mContext, this,
-                mCalendarProperties, days, mPageMonth);
-
-        mCalendarGridView.setAdapter(calendarDayAdapter);
     }
 
     @Override
     public void destroyItem(@NonNull ViewGroup container, int position, @NonNull Object object) {
-        container.removeView((View) object);
+        View page = (View) object;
+        container.removeView(page);
+        mPages.remove(page);
+
+        if (mRecycledPages.size() < RECYCLED_PAGES_POOL_SIZE) {
+            mRecycledPages.add(page);
+        }
     }
 }
@@ -0,0 +1,142 @@
+package com.applandeo.materialcalendarview.adapters;
+
+import android.content.Context;
+import android.support.annotation.MainThread;
+import android.support.annotation.WorkerThread;
+
+import com.applandeo.materialcalendarview.R;
+import com.applandeo.materialcalendarview.model.EventsSummary;
+import com.applandeo.materialcalendarview.model.MonthGrid;
+import com.applandeo.materialcalendarview.utils.CalendarProperties;
+import com.applandeo.materialcalendarview.utils.EpochDayMap;
+import com.applandeo.materialcalendarview.utils.ImageUtils;
+import com.applandeo.materialcalendarview.utils.MonthEventsLoader;
+
+import java.util.concurrent.Executor;
+
+/**
+ * This class prepares months following the current page in a direction of scrolling, so
+ * instantiating their pages only binds views. The page next to the current one is skipped,
+ * because ViewPager has already instantiated it. Month grids are built and constant states of event
+ * images are loaded to the ImageUtils cache on an executor, drawables are still created by pages
+ * on the main thread. Months of an EventSource start loading right away.
+ * States of cells, i.e. selection, are still resolved when a cell is bound, because they are
+ * changed on the main thread and cost only a lookup in a set.
+ */
+final class MonthPrefetcher {
+
+    private final Context mContext;
+    private final CalendarProperties mCalendarProperties;
+    private final CalendarPageAdapter mCalendarPageAdapter;
+    private final Executor mExecutor;
+
+    private final int mIconWidth;
+    private final int mIconHeight;
+
+    private int mPrefetchedPosition = -1;
+    private int mPrefetchedDirection;
+
+    MonthPrefetcher(Context context, CalendarProperties calendarProperties,
+                    CalendarPageAdapter calendarPageAdapter, Executor executor) {
+        mContext = context;
+        mCalendarProperties = calendarProperties;
+        mCalendarPageAdapter = calendarPageAdapter;
+        mExecutor = executor;
+
+        mIconWidth = context.getResources().getDimensionPixelSize(R.dimen.day_icon_width);
+        mIconHeight = context.getResources().getDimensionPixelSize(R.dimen.day_icon_height);
+    }
+
+    /**
+     * This method starts prefetching once per a page and a direction of scrolling
+     *
+     * @param position       Position of the first visible page, see ViewPager.OnPageChangeListener
+     * @param positionOffset Offset of the first visible page
+     * @param currentItem    Position of the current page
+     */
+    @MainThread
+    void onPageScrolled(int position, float positionOffset, int currentItem) {
+        if (positionOffset == 0) {
+            return;
+        }
+
+        // The first visible page is before the current one only when scrolling backward
+        int direction = position < currentItem ? -1 : 1;
+
+        if (currentItem == mPrefetchedPosition && direction == mPrefetchedDirection) {
+            return;
+        }
+
+        mPrefetchedPosition = currentItem;
+        mPrefetchedDirection = direction;
+
+        prefetch(currentItem, direction);
+    }
+
+    /**
+     * This method forgets prefetched pages, i.e. after months of pages are changed
+     */
+    @MainThread
+    void reset() {
+        mPrefetchedPosition = -1;
+    }
+
+    @MainThread
+    private void prefetch(int position, int direction) {
+        int depth = mCalendarProperties.getPrefetchDepth();
+
+        if (depth <= 0) {
+            return;
+        }
+
+        // ViewPager already keeps the page next to the current one, so the page after it is the first one
+        // it will instantiate. Values read from Calendar objects and properties aren't thread-safe,
+        // so they are copied here.
+        int firstYearMonth = mCalendarProperties.getFirstPageYearMonth() + position + 2 * direction;
+
+        // Months out of the minimum and maximum dates don't have pages, so they aren't prepared
+        int lastYearMonth = direction > 0
+                ? mCalendarProperties.getLastPageYearMonth() : mCalendarProperties.getFirstPageYearMonth();
+        int count = Math.min(depth, (lastYearMonth - firstYearMonth) * direction + 1);
+
+        if (count <= 0) {
+            return;
+        }
+
+        int firstDayOfWeek = mCalendarProperties.getFirstPageCalendarDate().getFirstDayOfWeek();
+        EpochDayMap<EventsSummary> eventDaysIndex = mCalendarProperties.getEventsEnabled()
+                ? mCalendarProperties.getEventDaysIndex() : null;
+
+        MonthEventsLoader monthEventsLoader = mCalendarProperties.getMonthEventsLoader();
+
+        if (monthEventsLoader != null) {
+            for (int i = 0; i < count; i++) {
+                monthEventsLoader.prefetchMonth(firstYearMonth + i * direction);
+            }
+        }
+
+        mExecutor.execute(() -> {
+            for (int i = 0; i < count; i++) {
+                prepareMonth(firstYearMonth + i * direction, firstDayOfWeek, eventDaysIndex);
+            }
+        });
+    }
+
+    @WorkerThread
+    private void prepareMonth(int yearMonth, int firstDayOfWeek, EpochDayMap<EventsSummary> eventDaysIndex) {
+        MonthGrid monthGrid = MonthGrid.fromYearMonth(yearMonth, firstDayOfWeek);
+        mCalendarPageAdapter.putMonthGrid(monthGrid);
+
+        if (eventDaysIndex == null || eventDaysIndex.isEmpty()) {
+            return;
+        }
+
+        for (int position = 0; position < MonthGrid.CELLS_COUNT; position++) {
+            EventsSummary eventsSummary = eventDaysIndex.get(monthGrid.getEpochDay(position));
+
+            if (eventsSummary != null && eventsSummary.getImageDrawable() != null) {
+                ImageUtils.preloadDrawable(mContext, eventsSummary.getImageDrawable(), mIconWidth, mIconHeight);
+            }
+        }
+    }
+}
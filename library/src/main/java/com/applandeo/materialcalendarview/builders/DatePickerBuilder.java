@@ -8,9 +8,12 @@ import android.support.annotation.StyleRes;
 
 import com.applandeo.materialcalendarview.CalendarView;
 import com.applandeo.materialcalendarview.DatePicker;
+import com.applandeo.materialcalendarview.listeners.CalendarPerformanceListener;
 import com.applandeo.materialcalendarview.listeners.OnCalendarPageChangeListener;
 import com.applandeo.materialcalendarview.listeners.OnSelectDateListener;
+import com.applandeo.materialcalendarview.model.DisabledDayRule;
 import com.applandeo.materialcalendarview.utils.CalendarProperties;
+import com.applandeo.materialcalendarview.utils.EpochDaySet;
 
 import java.util.Calendar;
 import java.util.List;
@@ -49,11 +52,43 @@ public class DatePickerBuilder {
         return this;
     }
 
+    public DatePickerBuilder selectedEpochDays(int[] epochDays) {
+        EpochDaySet selectedDays = new EpochDaySet();
+        selectedDays.addAll(epochDays);
+        mCalendarProperties.setSelectedEpochDays(selectedDays);
+        return this;
+    }
+
     public DatePickerBuilder disabledDays(List<Calendar> disabledDays) {
         mCalendarProperties.setDisabledDays(disabledDays);
         return this;
     }
 
+    public DatePickerBuilder disabledDays(Calendar firstDay, Calendar lastDay) {
+        mCalendarProperties.addDisabledDays(firstDay, lastDay);
+        return this;
+    }
+
+    public DatePickerBuilder disabledDayRule(DisabledDayRule disabledDayRule) {
+        mCalendarProperties.addDisabledDayRule(disabledDayRule);
+        return this;
+    }
+
+    public DatePickerBuilder performanceListener(CalendarPerformanceListener performanceListener) {
+        mCalendarProperties.setPerformanceListener(performanceListener);
+        return this;
+    }
+
+    public DatePickerBuilder canvasRenderingEnabled(boolean canvasRenderingEnabled) {
+        mCalendarProperties.setCanvasRenderingEnabled(canvasRenderingEnabled);
+        return this;
+    }
+
+    public DatePickerBuilder prefetchDepth(int prefetchDepth) {
+        mCalendarProperties.setPrefetchDepth(prefetchDepth);
+        return this;
+    }
+
     public DatePickerBuilder minimumDate(Calendar calendar) {
         mCalendarProperties.setMinimumDate(calendar);
         return this;
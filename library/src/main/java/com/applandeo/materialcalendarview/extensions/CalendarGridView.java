@@ -1,14 +1,33 @@
 package com.applandeo.materialcalendarview.extensions;
 
 import android.content.Context;
+import android.support.annotation.LayoutRes;
 import android.util.AttributeSet;
+import android.view.View;
 import android.widget.GridView;
+import android.widget.ListAdapter;
+
+import com.applandeo.materialcalendarview.model.MonthGrid;
 
 /**
  * Created by Mateusz Kornakiewicz on 15.11.2017.
  */
 public class CalendarGridView extends GridView {
 
+    // Every MonthGrid has six weeks
+    private static final int ROW_COUNT = MonthGrid.CELLS_COUNT / 7;
+
+    // The last measured size, it's reused until a width or a cell layout is changed or it's invalidated
+    private int mMeasuredWidthSpec;
+    private int mMeasuredCellLayout;
+    private int mMeasuredWidth;
+    private int mMeasuredHeight;
+
+    // A cell bound only to be measured, it's kept, so it isn't inflated for every measuring
+    private View mMeasuredCell;
+
+    private int mCellLayoutResource;
+
     public CalendarGridView(Context context, AttributeSet attrs) {
         super(context, attrs);
     }
@@ -21,11 +40,67 @@ public class CalendarGridView extends GridView {
         super(context, attrs, defStyle);
     }
 
-    //This method is needed to get wrap_content height for GridView
+    /**
+     * @param cellLayoutResource Layout resource of day cells, the measured size is cached per layout
+     */
+    public void setCellLayoutResource(@LayoutRes int cellLayoutResource) {
+        mCellLayoutResource = cellLayoutResource;
+    }
+
+    /**
+     * This method drops the cached height, it has to be called when a height of cells can be
+     * changed without changing a cell layout, i.e. a text appearance or a rendering mode
+     */
+    public void invalidateCellHeight() {
+        mMeasuredHeight = 0;
+        mMeasuredCell = null;
+        requestLayout();
+    }
+
+    /**
+     * All cells of the grid have the same height, so the grid height is computed from one
+     * measured cell and depends only on a width and a cell layout. When none of them is changed,
+     * the cached size is used and no cell is bound and measured again, i.e. when only days
+     * of the page are changed.
+     */
     @Override
     public void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        int expandSpec = MeasureSpec.makeMeasureSpec(Integer.MAX_VALUE >> 2,
-                MeasureSpec.AT_MOST);
-        super.onMeasure(widthMeasureSpec, expandSpec);
+        if (mMeasuredHeight > 0 && widthMeasureSpec == mMeasuredWidthSpec
+                && mCellLayoutResource == mMeasuredCellLayout) {
+            setMeasuredDimension(mMeasuredWidth, mMeasuredHeight);
+            return;
+        }
+
+        int height = measureCellHeight(widthMeasureSpec) * ROW_COUNT
+                + (ROW_COUNT - 1) * getVerticalSpacing() + getPaddingTop() + getPaddingBottom();
+
+        super.onMeasure(widthMeasureSpec, MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY));
+
+        mMeasuredWidthSpec = widthMeasureSpec;
+        mMeasuredCellLayout = mCellLayoutResource;
+        mMeasuredWidth = getMeasuredWidth();
+        mMeasuredHeight = getMeasuredHeight();
+    }
+
+    private int measureCellHeight(int widthMeasureSpec) {
+        ListAdapter adapter = getAdapter();
+
+        if (adapter == null || adapter.isEmpty()) {
+            return 0;
+        }
+
+        if (mCellLayoutResource != mMeasuredCellLayout) {
+            mMeasuredCell = null;
+        }
+
+        int columnCount = getNumColumns();
+        int columnWidth = (MeasureSpec.getSize(widthMeasureSpec) - getPaddingLeft() - getPaddingRight()
+                - (columnCount - 1) * getHorizontalSpacing()) / columnCount;
+
+        mMeasuredCell = adapter.getView(0, mMeasuredCell, this);
+        mMeasuredCell.measure(MeasureSpec.makeMeasureSpec(Math.max(0, columnWidth), MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+
+        return mMeasuredCell.getMeasuredHeight();
     }
 }
@@ -5,11 +5,20 @@ import android.support.v4.view.ViewPager;
 import android.util.AttributeSet;
 import android.view.View;
 
+import com.applandeo.materialcalendarview.listeners.CalendarPerformanceListener;
+import com.applandeo.materialcalendarview.utils.PerformanceTracer;
+
 /**
  * Created by Mateusz Kornakiewicz on 21.11.2017.
  */
 public class CalendarViewPager extends ViewPager {
 
+    private PerformanceTracer mPerformanceTracer;
+
+    // Height of pages measured for the width spec, all pages have the same height
+    private int mPageHeightWidthSpec;
+    private int mPageHeight;
+
     public CalendarViewPager(Context context) {
         super(context);
     }
@@ -18,20 +27,53 @@ public class CalendarViewPager extends ViewPager {
         super(context, attrs);
     }
 
-    //This method is needed to get wrap_content height for ViewPager
+    /**
+     * @param performanceTracer Tracer receiving durations of measuring pages
+     */
+    public void setPerformanceTracer(PerformanceTracer performanceTracer) {
+        mPerformanceTracer = performanceTracer;
+    }
+
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        int height = 0;
+        if (mPerformanceTracer == null) {
+            measurePages(widthMeasureSpec, heightMeasureSpec);
+            return;
+        }
 
-        for (int i = 0; i < getChildCount(); i++) {
-            View child = getChildAt(i);
-            child.measure(widthMeasureSpec, MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+        long startTime = mPerformanceTracer.beginSection(CalendarPerformanceListener.SECTION_MEASURE);
+        measurePages(widthMeasureSpec, heightMeasureSpec);
+        mPerformanceTracer.endSection(CalendarPerformanceListener.SECTION_MEASURE, startTime);
+    }
+
+    /**
+     * This method clears the cached height of pages, it has to be called when pages
+     * of another height are added, i.e. when a rendering mode is changed
+     */
+    public void invalidatePageHeight() {
+        mPageHeight = 0;
+        requestLayout();
+    }
 
-            int measuredHeight = child.getMeasuredHeight();
+    //This method is needed to get wrap_content height for ViewPager
+    private void measurePages(int widthMeasureSpec, int heightMeasureSpec) {
+        int height = widthMeasureSpec == mPageHeightWidthSpec ? mPageHeight : 0;
 
-            if (measuredHeight > height) {
-                height = measuredHeight;
+        // Pages are measured with an unspecified height only until their height is known
+        if (height == 0) {
+            for (int i = 0; i < getChildCount(); i++) {
+                View child = getChildAt(i);
+                child.measure(widthMeasureSpec, MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+
+                int measuredHeight = child.getMeasuredHeight();
+
+                if (measuredHeight > height) {
+                    height = measuredHeight;
+                }
             }
+
+            mPageHeightWidthSpec = widthMeasureSpec;
+            mPageHeight = height;
         }
 
         if (height != 0) {
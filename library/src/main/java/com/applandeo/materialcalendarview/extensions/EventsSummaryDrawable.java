@@ -0,0 +1,169 @@
+package com.applandeo.materialcalendarview.extensions;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.v4.content.ContextCompat;
+import android.support.v4.graphics.drawable.DrawableCompat;
+
+import com.applandeo.materialcalendarview.R;
+import com.applandeo.materialcalendarview.model.EventsSummary;
+
+/**
+ * This class draws {@link EventsSummary} of a day in the icon area of a day cell: the image
+ * of the event with the highest priority, a badge with a number of events if there are more
+ * events and a row of colored dots. One instance is reused for every cell of a page, so drawing
+ * a day with many events costs the same as drawing a day with one event.
+ */
+public final class EventsSummaryDrawable extends Drawable {
+
+    private static final int MAX_BADGE_COUNT = 9;
+
+    // Badge texts are created once, so drawing doesn't allocate strings
+    private static final String[] BADGE_TEXTS = new String[MAX_BADGE_COUNT + 2];
+
+    static {
+        for (int count = 0; count <= MAX_BADGE_COUNT; count++) {
+            BADGE_TEXTS[count] = String.valueOf(count);
+        }
+
+        BADGE_TEXTS[MAX_BADGE_COUNT + 1] = MAX_BADGE_COUNT + "+";
+    }
+
+    private final Paint mDotPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint mBadgePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint mBadgeTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    private final int mDotSize;
+    private final int mBadgeSize;
+    private final int mBadgeColor;
+
+    private final Rect mIconBounds = new Rect();
+
+    private EventsSummary mEventsSummary;
+    private Drawable mIcon;
+    private int mAlpha = 255;
+
+    public EventsSummaryDrawable(Context context) {
+        Resources resources = context.getResources();
+
+        mDotSize = resources.getDimensionPixelSize(R.dimen.day_event_dot_size);
+        mBadgeSize = resources.getDimensionPixelSize(R.dimen.day_event_badge_size);
+        mBadgeColor = ContextCompat.getColor(context, R.color.eventsBadgeColor);
+
+        mBadgeTextPaint.setColor(ContextCompat.getColor(context, R.color.eventsBadgeTextColor));
+        mBadgeTextPaint.setTextAlign(Paint.Align.CENTER);
+        mBadgeTextPaint.setTextSize(mBadgeSize * 0.75f);
+        mBadgeTextPaint.setTypeface(Typeface.create(Typeface.DEFAULT, Typeface.BOLD));
+    }
+
+    /**
+     * @param eventsSummary Summary of events of a day
+     * @param icon          Drawable of the image of the summary or null, it isn't modified
+     */
+    public void setEventsSummary(EventsSummary eventsSummary, Drawable icon) {
+        mEventsSummary = eventsSummary;
+        mIcon = icon;
+        invalidateSelf();
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        if (mEventsSummary == null) {
+            return;
+        }
+
+        Rect bounds = getBounds();
+        int[] dotColors = mEventsSummary.getDotColors();
+
+        // Dots take the bottom of the area, the image is centered in the rest of it
+        mIconBounds.set(bounds);
+
+        if (dotColors.length > 0) {
+            mIconBounds.bottom -= 2 * mDotSize;
+            drawDots(canvas, dotColors, bounds.centerX(), bounds.bottom - mDotSize / 2f);
+        }
+
+        if (mIcon != null) {
+            drawIcon(canvas);
+        }
+
+        if (mEventsSummary.getCount() > 1) {
+            drawBadge(canvas, mEventsSummary.getCount(), bounds);
+        }
+    }
+
+    private void drawDots(Canvas canvas, int[] dotColors, float centerX, float centerY) {
+        float radius = mDotSize / 2f;
+        float x = centerX - (dotColors.length * 2 - 1) * radius + radius;
+
+        for (int color : dotColors) {
+            mDotPaint.setColor(color);
+            mDotPaint.setAlpha(Color.alpha(color) * mAlpha / 255);
+            canvas.drawCircle(x, centerY, radius, mDotPaint);
+            x += 2 * mDotSize;
+        }
+    }
+
+    private void drawIcon(Canvas canvas) {
+        // The image is scaled like in ImageView with centerInside scale type
+        int width = mIcon.getIntrinsicWidth() > 0 ? mIcon.getIntrinsicWidth() : mIconBounds.width();
+        int height = mIcon.getIntrinsicHeight() > 0 ? mIcon.getIntrinsicHeight() : mIconBounds.height();
+        float scale = Math.min(1f, Math.min((float) mIconBounds.width() / width, (float) mIconBounds.height() / height));
+        width = (int) (width * scale);
+        height = (int) (height * scale);
+
+        int left = mIconBounds.centerX() - width / 2;
+        int top = mIconBounds.centerY() - height / 2;
+
+        // The icon is shared by cells, so its bounds are set before every drawing and its own alpha is restored.
+        // Drawable doesn't return alpha before KitKat, so it's assumed to be opaque there.
+        int iconAlpha = Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT ? DrawableCompat.getAlpha(mIcon) : 255;
+
+        mIcon.setBounds(left, top, left + width, top + height);
+        mIcon.setAlpha(iconAlpha * mAlpha / 255);
+        mIcon.draw(canvas);
+        mIcon.setAlpha(iconAlpha);
+    }
+
+    private void drawBadge(Canvas canvas, int count, Rect bounds) {
+        float radius = mBadgeSize / 2f;
+        float centerX = bounds.right - radius;
+        float centerY = bounds.top + radius;
+
+        mBadgePaint.setColor(mBadgeColor);
+        mBadgePaint.setAlpha(Color.alpha(mBadgeColor) * mAlpha / 255);
+        canvas.drawCircle(centerX, centerY, radius, mBadgePaint);
+
+        mBadgeTextPaint.setAlpha(mAlpha);
+        float baseline = centerY - (mBadgeTextPaint.ascent() + mBadgeTextPaint.descent()) / 2;
+        canvas.drawText(BADGE_TEXTS[Math.min(count, MAX_BADGE_COUNT + 1)], centerX, baseline, mBadgeTextPaint);
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        mAlpha = alpha;
+        invalidateSelf();
+    }
+
+    @Override
+    public void setColorFilter(ColorFilter colorFilter) {
+        mDotPaint.setColorFilter(colorFilter);
+        mBadgePaint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+}
@@ -0,0 +1,369 @@
+package com.applandeo.materialcalendarview.extensions;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.support.v4.content.ContextCompat;
+import android.text.TextPaint;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.applandeo.materialcalendarview.CalendarView;
+import com.applandeo.materialcalendarview.R;
+import com.applandeo.materialcalendarview.listeners.CalendarPerformanceListener;
+import com.applandeo.materialcalendarview.listeners.DayRowClickListener;
+import com.applandeo.materialcalendarview.model.EventsSummary;
+import com.applandeo.materialcalendarview.model.MonthGrid;
+import com.applandeo.materialcalendarview.utils.CalendarProperties;
+import com.applandeo.materialcalendarview.utils.DateUtils;
+import com.applandeo.materialcalendarview.utils.DayStyle;
+import com.applandeo.materialcalendarview.utils.EpochDaySet;
+import com.applandeo.materialcalendarview.utils.IconDrawables;
+import com.applandeo.materialcalendarview.utils.PerformanceTracer;
+
+/**
+ * This class draws a whole calendar page on a canvas, so a page is one view instead of a GridView
+ * with a layout per day. Days look the same as cells loaded by CalendarDayAdapter and clicks are
+ * passed to DayRowClickListener, so selection works in the same way in both modes.
+ */
+public class MonthView extends View {
+
+    private static final int DAYS_IN_WEEK = 7;
+    private static final int ROWS_COUNT = MonthGrid.CELLS_COUNT / DAYS_IN_WEEK;
+
+    // The same transparency as an image of another month day in CalendarDayAdapter
+    private static final int INACTIVE_ICON_ALPHA = (int) (0.12f * 255);
+    private static final int OPAQUE_ALPHA = 255;
+
+    private static final int[] PRESSED_STATE = {android.R.attr.state_pressed, android.R.attr.state_enabled};
+    private static final int[] DEFAULT_STATE = {android.R.attr.state_enabled};
+
+    // Labels of days are shared by all pages, so drawing a day doesn't create a new string
+    private static final String[] DAY_LABELS = new String[32];
+
+    static {
+        for (int i = 1; i < DAY_LABELS.length; i++) {
+            DAY_LABELS[i] = String.valueOf(i).intern();
+        }
+    }
+
+    private final CalendarProperties mCalendarProperties;
+    private MonthGrid mMonthGrid;
+    private DayRowClickListener mDayRowClickListener;
+
+    private int mToday;
+    private int mMinimumDay;
+    private int mMaximumDay;
+
+    private final boolean mEventsEnabled;
+    private final int mRowHeight;
+    private final int mLabelSize;
+    private final int mLabelMarginTop;
+    private final int mIconWidth;
+    private final int mIconHeight;
+    private final int mIconMargin;
+    private final int mDividerHeight;
+
+    private final TextPaint mTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint mDividerPaint = new Paint();
+    private final Rect mCellBounds = new Rect();
+    private final Rect mLabelBounds = new Rect();
+
+    private final Drawable mCellBackground;
+
+    // Draws events of every cell, its state is set before drawing a cell
+    private final EventsSummaryDrawable mEventsSummaryDrawable;
+    private final IconDrawables mIconDrawables;
+
+    private int mPressedPosition = -1;
+
+    public MonthView(Context context,
+                     CalendarProperties calendarProperties,
+                     MonthGrid monthGrid,
+                     DayRowClickListener dayRowClickListener) {
+        super(context);
+
+        mCalendarProperties = calendarProperties;
+
+        Resources resources = context.getResources();
+        mEventsEnabled = calendarProperties.getEventsEnabled();
+
+        if (mEventsEnabled) {
+            mLabelSize = resources.getDimensionPixelSize(R.dimen.day_label_size_events_enabled);
+            mLabelMarginTop = resources.getDimensionPixelSize(R.dimen.day_label_margin_top_events_enabled);
+            mIconWidth = resources.getDimensionPixelSize(R.dimen.day_icon_width);
+            mIconHeight = resources.getDimensionPixelSize(R.dimen.day_icon_height);
+            mIconMargin = resources.getDimensionPixelSize(R.dimen.day_icon_margin);
+            mDividerHeight = Math.max(1, resources.getDimensionPixelSize(R.dimen.day_divider_height));
+            mRowHeight = mLabelMarginTop + mLabelSize + 2 * mIconMargin + mIconHeight + mDividerHeight;
+        } else {
+            mLabelSize = resources.getDimensionPixelSize(R.dimen.day_label_size_events_disabled);
+            mRowHeight = resources.getDimensionPixelSize(R.dimen.row_height);
+            mLabelMarginTop = (mRowHeight - mLabelSize) / 2;
+            mIconWidth = mIconHeight = mIconMargin = mDividerHeight = 0;
+        }
+
+        mIconDrawables = new IconDrawables(context, mIconWidth, mIconHeight, calendarProperties.getPerformanceTracer());
+
+        mTextPaint.setTextAlign(Paint.Align.CENTER);
+        mDividerPaint.setColor(ContextCompat.getColor(context, R.color.anotherMonthDayColor));
+        mCellBackground = ContextCompat.getDrawable(context, R.drawable.day_item_background);
+        mEventsSummaryDrawable = new EventsSummaryDrawable(context);
+
+        bind(monthGrid, dayRowClickListener);
+    }
+
+    /**
+     * This method is used to show another month in a recycled page
+     *
+     * @param monthGrid           MonthGrid object representing days of the page
+     * @param dayRowClickListener Listener handling clicks on days of the page
+     */
+    public void bind(MonthGrid monthGrid, DayRowClickListener dayRowClickListener) {
+        mMonthGrid = monthGrid;
+        mDayRowClickListener = dayRowClickListener;
+        mPressedPosition = -1;
+
+        mToday = DateUtils.getToday();
+        mMinimumDay = mCalendarProperties.getMinimumDay();
+        mMaximumDay = mCalendarProperties.getMaximumDay();
+
+        invalidate();
+    }
+
+    /**
+     * This method redraws the page if it displays any of given days
+     *
+     * @param firstDay Epoch day of the first changed day
+     * @param lastDay  Epoch day of the last changed day
+     */
+    public void invalidateDays(int firstDay, int lastDay) {
+        int pageFirstDay = mMonthGrid.getFirstEpochDay();
+
+        if (firstDay < pageFirstDay + MonthGrid.CELLS_COUNT && lastDay >= pageFirstDay) {
+            invalidate();
+        }
+    }
+
+    /**
+     * This method redraws the page if it displays any of given days
+     *
+     * @param days Set of changed epoch days
+     */
+    public void invalidateDays(EpochDaySet days) {
+        int day = days.nextDay(mMonthGrid.getFirstEpochDay());
+
+        if (day != EpochDaySet.NONE && day < mMonthGrid.getFirstEpochDay() + MonthGrid.CELLS_COUNT) {
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec);
+        setMeasuredDimension(width, resolveSize(ROWS_COUNT * mRowHeight, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        for (int position = 0; position < MonthGrid.CELLS_COUNT; position++) {
+            setCellBounds(position);
+            drawDay(canvas, position);
+        }
+    }
+
+    private void drawDay(Canvas canvas, int position) {
+        PerformanceTracer performanceTracer = mCalendarProperties.getPerformanceTracer();
+        long startTime = performanceTracer.beginSection(CalendarPerformanceListener.SECTION_CELL_BIND);
+
+        drawCell(canvas, position);
+
+        performanceTracer.endSection(CalendarPerformanceListener.SECTION_CELL_BIND, startTime);
+    }
+
+    private void drawCell(Canvas canvas, int position) {
+        int epochDay = mMonthGrid.getEpochDay(position);
+
+        if (position == mPressedPosition && mCellBackground != null) {
+            mCellBackground.setState(PRESSED_STATE);
+            mCellBackground.setBounds(mCellBounds);
+            mCellBackground.draw(canvas);
+            mCellBackground.setState(DEFAULT_STATE);
+        }
+
+        int labelLeft = mCellBounds.centerX() - mLabelSize / 2;
+        int labelTop = mCellBounds.top + mLabelMarginTop;
+        mLabelBounds.set(labelLeft, labelTop, labelLeft + mLabelSize, labelTop + mLabelSize);
+
+        DayStyle dayStyle = getDayStyle(position, epochDay);
+
+        Drawable background = dayStyle.getBackground();
+
+        if (background != null) {
+            background.setBounds(mLabelBounds);
+            background.draw(canvas);
+        }
+
+        mTextPaint.setColor(dayStyle.getTextColor());
+        mTextPaint.setTextSize(dayStyle.getTextSize());
+        mTextPaint.setTypeface(dayStyle.getTypeface());
+
+        float baseline = mLabelBounds.exactCenterY() - (mTextPaint.ascent() + mTextPaint.descent()) / 2;
+        canvas.drawText(DAY_LABELS[mMonthGrid.getDayOfMonth(position)],
+                mLabelBounds.exactCenterX(), baseline, mTextPaint);
+
+        if (mEventsEnabled) {
+            drawIcon(canvas, position, epochDay);
+            canvas.drawRect(mCellBounds.left, mCellBounds.bottom - mDividerHeight,
+                    mCellBounds.right, mCellBounds.bottom, mDividerPaint);
+        }
+    }
+
+    private void drawIcon(Canvas canvas, int position, int epochDay) {
+        if (mCalendarProperties.getEventDays() == null) {
+            return;
+        }
+
+        EventsSummary eventsSummary = mCalendarProperties.getEventsSummary(epochDay);
+
+        if (eventsSummary == null) {
+            return;
+        }
+
+        Drawable icon = eventsSummary.getImageDrawable() == null ? null
+                : mIconDrawables.get(eventsSummary.getImageDrawable());
+
+        // The same area as the ImageView of a day cell has
+        int left = mCellBounds.centerX() - mIconWidth / 2;
+        int top = mLabelBounds.bottom + mIconMargin;
+        mEventsSummaryDrawable.setBounds(left, top, left + mIconWidth, top + mIconHeight);
+        mEventsSummaryDrawable.setEventsSummary(eventsSummary, icon);
+
+        boolean inactive = !isCurrentMonthDay(position, epochDay) || mCalendarProperties.isDisabledDay(epochDay);
+        mEventsSummaryDrawable.setAlpha(inactive ? INACTIVE_ICON_ALPHA : OPAQUE_ALPHA);
+        mEventsSummaryDrawable.draw(canvas);
+    }
+
+    private DayStyle getDayStyle(int position, int epochDay) {
+        Context context = getContext();
+
+        if (mCalendarProperties.isDisabledDay(epochDay)) {
+            return mCalendarProperties.getDisabledDayStyle(context);
+        }
+
+        if (isSelectedDay(position, epochDay)) {
+            return mCalendarProperties.getSelectedDayStyle(context);
+        }
+
+        if (epochDay == mToday) {
+            return mCalendarProperties.getTodayStyle(context);
+        }
+
+        if (isCurrentMonthDay(position, epochDay)) {
+            return mCalendarProperties.getCurrentMonthDayStyle(context);
+        }
+
+        return mCalendarProperties.getAnotherMonthDayStyle(context);
+    }
+
+    private boolean isSelectedDay(int position, int epochDay) {
+        return mCalendarProperties.getCalendarType() != CalendarView.CLASSIC
+                && mMonthGrid.isPageMonthDay(position)
+                && mCalendarProperties.isSelectedDay(epochDay);
+    }
+
+    private boolean isCurrentMonthDay(int position, int epochDay) {
+        return mMonthGrid.isPageMonthDay(position) && epochDay >= mMinimumDay && epochDay <= mMaximumDay;
+    }
+
+    private void setCellBounds(int position) {
+        int column = position % DAYS_IN_WEEK;
+        int row = position / DAYS_IN_WEEK;
+        int width = getWidth() - getPaddingLeft() - getPaddingRight();
+
+        int left = getPaddingLeft() + width * column / DAYS_IN_WEEK;
+        int right = getPaddingLeft() + width * (column + 1) / DAYS_IN_WEEK;
+        int top = getPaddingTop() + row * mRowHeight;
+
+        mCellBounds.set(left, top, right, top + mRowHeight);
+    }
+
+    private int getPosition(float x, float y) {
+        int width = getWidth() - getPaddingLeft() - getPaddingRight();
+
+        if (width <= 0 || x < getPaddingLeft() || y < getPaddingTop()) {
+            return -1;
+        }
+
+        int column = (int) ((x - getPaddingLeft()) * DAYS_IN_WEEK / width);
+        int row = (int) ((y - getPaddingTop()) / mRowHeight);
+
+        if (column >= DAYS_IN_WEEK || row >= ROWS_COUNT) {
+            return -1;
+        }
+
+        return row * DAYS_IN_WEEK + column;
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                mPressedPosition = getPosition(event.getX(), event.getY());
+                invalidate();
+                return mPressedPosition != -1;
+
+            case MotionEvent.ACTION_MOVE:
+                if (mPressedPosition != -1 && getPosition(event.getX(), event.getY()) != mPressedPosition) {
+                    mPressedPosition = -1;
+                    invalidate();
+                }
+                return true;
+
+            case MotionEvent.ACTION_UP:
+                if (mPressedPosition != -1) {
+                    performClick();
+                }
+                return true;
+
+            case MotionEvent.ACTION_CANCEL:
+                mPressedPosition = -1;
+                invalidate();
+                return true;
+
+            default:
+                return super.onTouchEvent(event);
+        }
+    }
+
+    @Override
+    public boolean performClick() {
+        super.performClick();
+
+        if (mPressedPosition == -1) {
+            return false;
+        }
+
+        int epochDay = mMonthGrid.getEpochDay(mPressedPosition);
+        mPressedPosition = -1;
+
+        mDayRowClickListener.onDayClick(DateUtils.getCalendar(epochDay), null);
+
+        // A selection can be changed on other pages too, i.e. a previously selected day
+        if (getParent() instanceof ViewGroup) {
+            ViewGroup pager = (ViewGroup) getParent();
+
+            for (int i = 0; i < pager.getChildCount(); i++) {
+                pager.getChildAt(i).invalidate();
+            }
+        } else {
+            invalidate();
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,191 @@
+package com.applandeo.materialcalendarview.extensions;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorRes;
+import android.support.annotation.NonNull;
+import android.support.v4.content.ContextCompat;
+import android.util.LruCache;
+
+/**
+ * This class is a drawable containing a short text, i.e. a number of events. The text is drawn
+ * directly with a Paint, so no bitmap is created. Drawables with the same text, typeface, color,
+ * size and screen density share one cached state, so creating a drawable for every event costs
+ * only a small object.
+ */
+public final class TextDrawable extends Drawable {
+
+    // Size of the drawable in pixels, the same as size of bitmaps which were used before
+    private static final int SIZE = 48;
+
+    private static final int STATES_CACHE_SIZE = 128;
+
+    private static final LruCache<Key, TextState> sStates = new LruCache<>(STATES_CACHE_SIZE);
+
+    private final TextState mState;
+    private int mAlpha = 255;
+    private ColorFilter mColorFilter;
+
+    private TextDrawable(TextState state) {
+        mState = state;
+    }
+
+    /**
+     * @param context  The context
+     * @param text     Text of the drawable
+     * @param typeface Typeface of the text, bold default typeface is used if it's null
+     * @param color    Color resource of the text
+     * @param size     Size of the text in dp
+     * @return A new drawable sharing a cached state with all drawables of the same text
+     */
+    public static TextDrawable create(Context context, String text, Typeface typeface,
+                                      @ColorRes int color, int size) {
+        Key key = new Key(text, typeface, ContextCompat.getColor(context, color), size,
+                context.getResources().getDisplayMetrics().density);
+
+        TextState state = sStates.get(key);
+
+        if (state == null) {
+            state = new TextState(key);
+            sStates.put(key, state);
+        }
+
+        return new TextDrawable(state);
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        Rect bounds = getBounds();
+        Paint paint = mState.mPaint;
+
+        // The text is scaled to bounds like the bitmap was, but it keeps its aspect ratio
+        float scale = Math.min(bounds.width(), bounds.height()) / (float) SIZE;
+
+        int alpha = paint.getAlpha();
+        paint.setAlpha(alpha * mAlpha / 255);
+        paint.setColorFilter(mColorFilter);
+
+        canvas.save();
+        canvas.translate(bounds.exactCenterX(), bounds.exactCenterY());
+        canvas.scale(scale, scale);
+        canvas.drawText(mState.mText, -mState.mTextBounds.exactCenterX(),
+                -mState.mTextBounds.exactCenterY(), paint);
+        canvas.restore();
+
+        // The paint is shared by all drawables of the state
+        paint.setAlpha(alpha);
+        paint.setColorFilter(null);
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        mAlpha = alpha;
+        invalidateSelf();
+    }
+
+    @Override
+    public void setColorFilter(ColorFilter colorFilter) {
+        mColorFilter = colorFilter;
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return SIZE;
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return SIZE;
+    }
+
+    @Override
+    public ConstantState getConstantState() {
+        return mState;
+    }
+
+    /**
+     * This class keeps a paint and measured bounds of the text shared by drawables
+     */
+    private static final class TextState extends ConstantState {
+        private final String mText;
+        private final Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        private final Rect mTextBounds = new Rect();
+
+        TextState(Key key) {
+            mText = key.mText;
+
+            mPaint.setTypeface(key.mTypeface != null ? key.mTypeface : Typeface.create(Typeface.DEFAULT, Typeface.BOLD));
+            mPaint.setColor(key.mColor);
+            mPaint.setTextSize((int) (key.mSize * key.mDensity));
+            mPaint.getTextBounds(mText, 0, mText.length(), mTextBounds);
+        }
+
+        @NonNull
+        @Override
+        public Drawable newDrawable() {
+            return new TextDrawable(this);
+        }
+
+        @Override
+        public int getChangingConfigurations() {
+            return 0;
+        }
+    }
+
+    private static final class Key {
+        private final String mText;
+        private final Typeface mTypeface;
+        private final int mColor;
+        private final int mSize;
+        private final float mDensity;
+
+        Key(String text, Typeface typeface, int color, int size, float density) {
+            mText = text;
+            mTypeface = typeface;
+            mColor = color;
+            mSize = size;
+            mDensity = density;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) obj;
+
+            return mColor == key.mColor
+                    && mSize == key.mSize
+                    && Float.compare(mDensity, key.mDensity) == 0
+                    && mText.equals(key.mText)
+                    && (mTypeface == null ? key.mTypeface == null : mTypeface.equals(key.mTypeface));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mText.hashCode();
+            result = 31 * result + (mTypeface != null ? mTypeface.hashCode() : 0);
+            result = 31 * result + mColor;
+            result = 31 * result + mSize;
+            result = 31 * result + Float.floatToIntBits(mDensity);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.applandeo.materialcalendarview.listeners;
+
+/**
+ * This interface is used to collect timings of the calendar rendering and usage of its caches,
+ * i.e. to report them as production telemetry. Methods are called on the main thread while
+ * the calendar is rendered, so they should only record values and return quickly.
+ */
+public interface CalendarPerformanceListener {
+
+    /**
+     * Adding a page to ViewPager, including rebinding a recycled page
+     */
+    int SECTION_PAGE_INSTANTIATE = 0;
+
+    /**
+     * Getting days of a month page
+     */
+    int SECTION_MONTH_MODEL_BUILD = 1;
+
+    /**
+     * Binding or drawing one day cell
+     */
+    int SECTION_CELL_BIND = 2;
+
+    /**
+     * Measuring calendar pages
+     */
+    int SECTION_MEASURE = 3;
+
+    /**
+     * Finding events of one day
+     */
+    int SECTION_EVENT_LOOKUP = 4;
+
+    /**
+     * Changing selected days, by a click or by setting them
+     */
+    int SECTION_SELECTION_UPDATE = 5;
+
+    /**
+     * Days of month pages
+     */
+    int CACHE_MONTH_GRIDS = 0;
+
+    /**
+     * Pages removed from ViewPager which can be rebound
+     */
+    int CACHE_RECYCLED_PAGES = 1;
+
+    /**
+     * Event images loaded from resources
+     */
+    int CACHE_DRAWABLES = 2;
+
+    /**
+     * Resolved text appearances and backgrounds of day labels
+     */
+    int CACHE_DAY_STYLES = 3;
+
+    /**
+     * Month names with years displayed in the header
+     */
+    int CACHE_HEADER_LABELS = 4;
+
+    /**
+     * Months of events loaded from {@link EventSource}
+     */
+    int CACHE_EVENT_MONTHS = 5;
+
+    /**
+     * Months of occurrences of recurring events
+     */
+    int CACHE_RECURRING_EVENT_MONTHS = 6;
+
+    /**
+     * @param section       One of SECTION_* constants
+     * @param durationNanos Duration of the section in nanoseconds
+     */
+    void onSection(int section, long durationNanos);
+
+    /**
+     * @param cache One of CACHE_* constants
+     * @param hit   Boolean value if a value was found in the cache
+     */
+    void onCacheAccess(int cache, boolean hit);
+}
@@ -10,10 +10,11 @@ import com.applandeo.materialcalendarview.R;
 import com.applandeo.materialcalendarview.adapters.CalendarPageAdapter;
 import com.applandeo.materialcalendarview.model.EventDay;
 import com.applandeo.materialcalendarview.model.SelectedDay;
+import com.applandeo.materialcalendarview.model.SelectedRange;
 import com.applandeo.materialcalendarview.utils.AppearanceUtils;
 import com.applandeo.materialcalendarview.utils.CalendarProperties;
-import com.applandeo.materialcalendarview.utils.CalendarUtils;
 import com.applandeo.materialcalendarview.utils.DateUtils;
+import com.applandeo.materialcalendarview.utils.PerformanceTracer;
 
 import java.util.Calendar;
 import java.util.Date;
@@ -30,14 +31,22 @@ public class DayRowClickListener implements AdapterView.OnItemClickListener {
     private CalendarPageAdapter mCalendarPageAdapter;
 
     private CalendarProperties mCalendarProperties;
-    private int mPageMonth;
+    private int mPageYearMonth;
 
+    // Epoch day of today, computed once per click for all reverted day labels
+    private int mToday;
+
+    /**
+     * @param calendarPageAdapter Adapter of the calendar pages
+     * @param calendarProperties  Properties of the calendar
+     * @param pageYearMonth       A number of months since year 0 (year * 12 + month) of the page
+     */
     public DayRowClickListener(CalendarPageAdapter calendarPageAdapter,
                                CalendarProperties calendarProperties,
-                               int pageMonth) {
+                               int pageYearMonth) {
         mCalendarPageAdapter = calendarPageAdapter;
         mCalendarProperties = calendarProperties;
-        mPageMonth = pageMonth < 0 ? 11 : pageMonth;
+        mPageYearMonth = pageYearMonth;
     }
 
     @Override
@@ -45,21 +54,44 @@ public class DayRowClickListener implements AdapterView.OnItemClickListener {
         Calendar day = new GregorianCalendar();
         day.setTime((Date) adapterView.getItemAtPosition(position));
 
+        onDayClick(day, view);
+    }
+
+    /**
+     * This method handles a click on a day cell
+     *
+     * @param day  Calendar object representing a clicked day
+     * @param view View of the day cell or null if the page is drawn by MonthView, which redraws
+     *             itself after the click
+     */
+    public void onDayClick(Calendar day, View view) {
+        TextView dayLabel = view == null ? null : view.findViewById(R.id.dayLabel);
+
         if (mCalendarProperties.getOnDayClickListener() != null) {
             onClick(day);
         }
 
+        PerformanceTracer performanceTracer = mCalendarProperties.getPerformanceTracer();
+        long startTime = performanceTracer.beginSection(CalendarPerformanceListener.SECTION_SELECTION_UPDATE);
+
+        mToday = DateUtils.getToday();
+        updateSelection(dayLabel, day, view);
+
+        performanceTracer.endSection(CalendarPerformanceListener.SECTION_SELECTION_UPDATE, startTime);
+    }
+
+    private void updateSelection(TextView dayLabel, Calendar day, View view) {
         switch (mCalendarProperties.getCalendarType()) {
             case CalendarView.ONE_DAY_PICKER:
-                selectOneDay(view, day);
+                selectOneDay(dayLabel, day);
                 break;
 
             case CalendarView.MANY_DAYS_PICKER:
-                selectManyDays(view, day);
+                selectManyDays(dayLabel, day);
                 break;
 
             case CalendarView.RANGE_PICKER:
-                selectRange(view, day);
+                selectRange(dayLabel, day);
                 break;
 
             case CalendarView.CLASSIC:
@@ -67,24 +99,20 @@ public class DayRowClickListener implements AdapterView.OnItemClickListener {
         }
     }
 
-    private void selectOneDay(View view, Calendar day) {
+    private void selectOneDay(TextView dayLabel, Calendar day) {
         SelectedDay previousSelectedDay = mCalendarPageAdapter.getSelectedDay(0);
 
-        TextView dayLabel = view.findViewById(R.id.dayLabel);
-
         if (isAnotherDaySelected(previousSelectedDay, day)) {
             selectDay(dayLabel, day);
             reverseUnselectedColor(previousSelectedDay);
         }
     }
 
-    private void selectManyDays(View view, Calendar day) {
-        TextView dayLabel = view.findViewById(R.id.dayLabel);
-
+    private void selectManyDays(TextView dayLabel, Calendar day) {
         if (isCurrentMonthDay(day) && isActiveDay(day)) {
             SelectedDay selectedDay = new SelectedDay(dayLabel, day);
 
-            if (!mCalendarPageAdapter.getSelectedDays().contains(selectedDay)) {
+            if (!mCalendarProperties.isSelectedDay(DateUtils.getEpochDay(day))) {
                 AppearanceUtils.setSelectedDayTextAppearance(dayLabel, mCalendarProperties);
             } else {
                 reverseUnselectedColor(selectedDay);
@@ -94,9 +122,7 @@ public class DayRowClickListener implements AdapterView.OnItemClickListener {
         }
     }
 
-    private void selectRange(View view, Calendar day) {
-        TextView dayLabel = view.findViewById(R.id.dayLabel);
-
+    private void selectRange(TextView dayLabel, Calendar day) {
         if (!isCurrentMonthDay(day) || !isActiveDay(day)) {
             return;
         }
@@ -105,33 +131,41 @@ public class DayRowClickListener implements AdapterView.OnItemClickListener {
 
         if (selectedDays.size() > 1) {
             clearAndSelectOne(dayLabel, day);
-        }
-
-        if (selectedDays.size() == 1) {
+        } else if (selectedDays.size() == 1) {
             selectOneAndRange(dayLabel, day);
-        }
-
-        if (selectedDays.isEmpty()) {
+        } else {
             selectDay(dayLabel, day);
         }
     }
 
     private void clearAndSelectOne(TextView dayLabel, Calendar day) {
         Stream.of(mCalendarPageAdapter.getSelectedDays()).forEach(this::reverseUnselectedColor);
+        SelectedRange previousRange = mCalendarProperties.getSelectedRange();
+
         selectDay(dayLabel, day);
+
+        // Days inside the previous range don't keep their views, so they have to be rebound
+        if (previousRange != null) {
+            mCalendarPageAdapter.notifyDaysChanged(previousRange.getFirstDay(), previousRange.getLastDay());
+        }
     }
 
     private void selectOneAndRange(TextView dayLabel, Calendar day) {
         SelectedDay previousSelectedDay = mCalendarPageAdapter.getSelectedDay(0);
 
-        Stream.of(CalendarUtils.getDatesRange(previousSelectedDay.getCalendar(), day))
-                .filter(calendar -> !mCalendarProperties.getDisabledDays().contains(calendar))
-                .forEach(calendar -> mCalendarPageAdapter.addOrRemoveSelectedDay(new SelectedDay(calendar)));
+        // Clicking the same day again unselects it
+        if (DateUtils.getEpochDay(previousSelectedDay.getCalendar()) == DateUtils.getEpochDay(day)) {
+            reverseUnselectedColor(previousSelectedDay);
+            mCalendarPageAdapter.addOrRemoveSelectedDay(previousSelectedDay);
+            return;
+        }
 
         AppearanceUtils.setSelectedDayTextAppearance(dayLabel, mCalendarProperties);
 
-        mCalendarPageAdapter.addOrRemoveSelectedDay(new SelectedDay(dayLabel, day));
-        mCalendarPageAdapter.notifyDataSetChanged();
+        mCalendarPageAdapter.setSelectedRange(previousSelectedDay, new SelectedDay(dayLabel, day));
+
+        SelectedRange selectedRange = mCalendarProperties.getSelectedRange();
+        mCalendarPageAdapter.notifyDaysChanged(selectedRange.getFirstDay(), selectedRange.getLastDay());
     }
 
     private void selectDay(TextView dayLabel, Calendar day) {
@@ -140,7 +174,7 @@ public class DayRowClickListener implements AdapterView.OnItemClickListener {
     }
 
     private void reverseUnselectedColor(SelectedDay selectedDay) {
-        if (DateUtils.isToday(selectedDay.getCalendar())) {
+        if (DateUtils.getEpochDay(selectedDay.getCalendar()) == mToday) {
             AppearanceUtils.setTodayTextAppearance(
                     (TextView) selectedDay.getView(), mCalendarProperties);
         } else {
@@ -150,34 +184,29 @@ public class DayRowClickListener implements AdapterView.OnItemClickListener {
     }
 
     private boolean isCurrentMonthDay(Calendar day) {
-        return day.get(Calendar.MONTH) == mPageMonth && isBetweenMinAndMax(day);
+        return DateUtils.getYearMonth(day) == mPageYearMonth
+                && mCalendarProperties.isBetweenMinAndMax(DateUtils.getEpochDay(day));
     }
 
     private boolean isActiveDay(Calendar day) {
-        return !mCalendarProperties.getDisabledDays().contains(day);
-    }
-
-    private boolean isBetweenMinAndMax(Calendar day) {
-        return !((mCalendarProperties.getMinimumDate() != null && day.before(mCalendarProperties.getMinimumDate()))
-                || (mCalendarProperties.getMaximumDate() != null && day.after(mCalendarProperties.getMaximumDate())));
+        return !mCalendarProperties.isDisabledDay(day);
     }
 
     private boolean isAnotherDaySelected(SelectedDay selectedDay, Calendar day) {
         return selectedDay != null
-                && !day.equals(selectedDay.getCalendar())
+                && DateUtils.getEpochDay(day) != DateUtils.getEpochDay(selectedDay.getCalendar())
                 && isCurrentMonthDay(day) && isActiveDay(day);
     }
 
     private void onClick(Calendar day) {
-        if (mCalendarProperties.getEventDays() == null) {
+        EventDay eventDay = mCalendarProperties.getEventDay(DateUtils.getEpochDay(day));
+
+        if (eventDay == null) {
             createEmptyEventDay(day);
             return;
         }
 
-        Stream.of(mCalendarProperties.getEventDays())
-                .filter(eventDate -> eventDate.getCalendar().equals(day))
-                .findFirst()
-                .ifPresentOrElse(this::callOnClickListener, () -> createEmptyEventDay(day));
+        callOnClickListener(eventDay);
     }
 
     private void createEmptyEventDay(Calendar day) {
@@ -186,8 +215,8 @@ public class DayRowClickListener implements AdapterView.OnItemClickListener {
     }
 
     private void callOnClickListener(EventDay eventDay) {
-        boolean enabledDay = mCalendarProperties.getDisabledDays().contains(eventDay.getCalendar())
-                || !isBetweenMinAndMax(eventDay.getCalendar());
+        boolean enabledDay = mCalendarProperties.isDisabledDay(eventDay.getCalendar())
+                || !mCalendarProperties.isBetweenMinAndMax(DateUtils.getEpochDay(eventDay.getCalendar()));
 
         eventDay.setEnabled(enabledDay);
         mCalendarProperties.getOnDayClickListener().onDayClick(eventDay);
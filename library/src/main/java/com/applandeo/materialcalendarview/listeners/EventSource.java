@@ -0,0 +1,39 @@
+package com.applandeo.materialcalendarview.listeners;
+
+import android.support.annotation.WorkerThread;
+
+import com.applandeo.materialcalendarview.model.EventDay;
+
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * This interface is used to load events of one month when the month is displayed, so all events
+ * don't have to be set before the calendar is shown. The calendar calls {@link #load(Calendar, Callback)}
+ * on a background executor and caches loaded months.
+ */
+public interface EventSource {
+
+    /**
+     * @param month    Calendar object representing the first day of a month to load
+     * @param callback Callback which has to receive events of the month or an error, it can be
+     *                 called from any thread. If this method throws, the error is reported for it
+     */
+    @WorkerThread
+    void load(Calendar month, Callback callback);
+
+    interface Callback {
+        /**
+         * @param eventDays List of EventDay objects of the loaded month
+         */
+        void onLoaded(List<EventDay> eventDays);
+
+        /**
+         * This method should be called when the month can't be loaded, so it is requested
+         * again the next time one of its days is displayed
+         *
+         * @param error The reason of the failure
+         */
+        void onError(Throwable error);
+    }
+}
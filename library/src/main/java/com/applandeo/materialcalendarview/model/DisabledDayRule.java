@@ -0,0 +1,18 @@
+package com.applandeo.materialcalendarview.model;
+
+/**
+ * This interface is used to disable days by a rule instead of listing them. Rules are evaluated
+ * once per day of a displayed month and results are cached, so a rule has to return the same
+ * value for the same day until it's removed from the calendar.
+ *
+ * @see com.applandeo.materialcalendarview.utils.DisabledDayRules
+ */
+public interface DisabledDayRule {
+
+    /**
+     * @param epochDay A day in epoch days, see
+     *                 {@link com.applandeo.materialcalendarview.utils.DateUtils#getCalendar(int)}
+     * @return Boolean value if given day is disabled
+     */
+    boolean isDisabled(int epochDay);
+}
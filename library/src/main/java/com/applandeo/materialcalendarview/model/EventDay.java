@@ -1,6 +1,7 @@
 package com.applandeo.materialcalendarview.model;
 
 import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
 import android.support.annotation.DrawableRes;
 import android.support.annotation.RestrictTo;
 
@@ -20,6 +21,9 @@ public class EventDay {
     private Calendar mDay;
     private Object mDrawable;
     private boolean mIsDisabled;
+    private int mPriority;
+    private int mDotColor;
+    private boolean mHasDotColor;
 
     /**
      * @param day Calendar object which represents a date of the event
@@ -48,6 +52,15 @@ public class EventDay {
         mDrawable = drawable;
     }
 
+    /**
+     * @param day      Calendar object set to midnight which represents a date of the event
+     * @param drawable Drawable resource or Drawable object, see {@link #getImageDrawable()}
+     */
+    EventDay(Calendar day, Object drawable) {
+        mDay = day;
+        mDrawable = drawable;
+    }
+
     /**
      * @return An image resource which will be displayed in the day row
      */
@@ -56,6 +69,36 @@ public class EventDay {
         return mDrawable;
     }
 
+    public int getPriority() {
+        return mPriority;
+    }
+
+    /**
+     * @param priority An image of the event with the highest priority is displayed in a day cell,
+     *                 all events have priority 0 by default
+     */
+    public void setPriority(int priority) {
+        mPriority = priority;
+    }
+
+    @ColorInt
+    public int getDotColor() {
+        return mDotColor;
+    }
+
+    /**
+     * @param dotColor Color of a dot displayed in a day cell, days display dots of up to
+     *                 {@link EventsSummary#MAX_DOTS} distinct colors
+     */
+    public void setDotColor(@ColorInt int dotColor) {
+        mDotColor = dotColor;
+        mHasDotColor = true;
+    }
+
+    public boolean hasDotColor() {
+        return mHasDotColor;
+    }
+
     /**
      * @return Calendar object which represents a date of current event
      */
@@ -0,0 +1,128 @@
+package com.applandeo.materialcalendarview.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents all events of one day as they are displayed in a day cell: a number
+ * of events, an image of the event with the highest priority and colors of up to
+ * {@link #MAX_DOTS} dots. It's computed once when events are indexed, so binding a cell
+ * doesn't depend on a number of events of its day.
+ */
+public final class EventsSummary {
+
+    /**
+     * A maximum number of dots displayed in a day cell
+     */
+    public static final int MAX_DOTS = 3;
+
+    private static final int[] NO_DOTS = {};
+
+    private final List<EventDay> mEventDays;
+    private final EventDay mTopEventDay;
+    private final Object mImageDrawable;
+    private final int[] mDotColors;
+
+    private EventsSummary(List<EventDay> eventDays) {
+        mEventDays = eventDays;
+
+        EventDay topEventDay = null;
+        EventDay imageEventDay = null;
+        int[] dotColors = new int[MAX_DOTS];
+        int dotsCount = 0;
+
+        // Events with the same priority keep an order in which they were set
+        for (int i = 0; i < eventDays.size(); i++) {
+            EventDay eventDay = eventDays.get(i);
+
+            if (topEventDay == null || eventDay.getPriority() > topEventDay.getPriority()) {
+                topEventDay = eventDay;
+            }
+
+            if (eventDay.getImageDrawable() != null
+                    && (imageEventDay == null || eventDay.getPriority() > imageEventDay.getPriority())) {
+                imageEventDay = eventDay;
+            }
+
+            if (eventDay.hasDotColor() && dotsCount < MAX_DOTS
+                    && !contains(dotColors, dotsCount, eventDay.getDotColor())) {
+                dotColors[dotsCount++] = eventDay.getDotColor();
+            }
+        }
+
+        mTopEventDay = topEventDay;
+        mImageDrawable = imageEventDay == null ? null : imageEventDay.getImageDrawable();
+        mDotColors = dotsCount == 0 ? NO_DOTS : copyOf(dotColors, dotsCount);
+    }
+
+    /**
+     * @param eventDays Events of one day, the list is kept and mustn't be changed
+     * @return Summary of given events
+     */
+    public static EventsSummary of(List<EventDay> eventDays) {
+        return new EventsSummary(Collections.unmodifiableList(eventDays));
+    }
+
+    /**
+     * @return Summary of events of both summaries, one of them is returned if another one is null
+     */
+    public static EventsSummary merge(EventsSummary first, EventsSummary second) {
+        if (first == null || second == null) {
+            return first == null ? second : first;
+        }
+
+        List<EventDay> eventDays = new ArrayList<>(first.getCount() + second.getCount());
+        eventDays.addAll(first.mEventDays);
+        eventDays.addAll(second.mEventDays);
+        return of(eventDays);
+    }
+
+    /**
+     * @return Read-only list of all events of the day in order they were set
+     */
+    public List<EventDay> getEventDays() {
+        return mEventDays;
+    }
+
+    public int getCount() {
+        return mEventDays.size();
+    }
+
+    /**
+     * @return The event with the highest priority, the first one if priorities are equal
+     */
+    public EventDay getTopEventDay() {
+        return mTopEventDay;
+    }
+
+    /**
+     * @return An image of the event with the highest priority which has an image or null
+     */
+    public Object getImageDrawable() {
+        return mImageDrawable;
+    }
+
+    /**
+     * @return Distinct colors of dots of the events, at most {@link #MAX_DOTS}
+     */
+    public int[] getDotColors() {
+        return mDotColors;
+    }
+
+    private static boolean contains(int[] colors, int count, int color) {
+        for (int i = 0; i < count; i++) {
+            if (colors[i] == color) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static int[] copyOf(int[] array, int length) {
+        int[] copy = new int[length];
+        System.arraycopy(array, 0, copy, 0, length);
+        return copy;
+    }
+}
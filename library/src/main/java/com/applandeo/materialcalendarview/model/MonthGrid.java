@@ -0,0 +1,146 @@
+package com.applandeo.materialcalendarview.model;
+
+import com.applandeo.materialcalendarview.utils.DateUtils;
+
+/**
+ * This class represents days displayed on one calendar page: a part of a previous month,
+ * the page month and a part of a next month. All values are computed arithmetically from a year,
+ * a month and the first day of the week, no Calendar or Date objects are created.
+ */
+public final class MonthGrid {
+
+    /**
+     * A number of all possible cells in one page (6 rows of 7 days)
+     */
+    public static final int CELLS_COUNT = 42;
+
+    private static final int DAYS_IN_WEEK = 7;
+
+    private final int mYear;
+    private final int mMonth;
+    private final int mFirstDayOfWeek;
+
+    private final int mFirstEpochDay;
+    private final int mLeadingOffset;
+    private final int mDaysInMonth;
+    private final int mPreviousMonthDays;
+
+    /**
+     * @param year           A year of the page month
+     * @param month          The page month, counted from 0 like {@link java.util.Calendar#MONTH}
+     * @param firstDayOfWeek The first day of the week, i.e. {@link java.util.Calendar#MONDAY}
+     */
+    public MonthGrid(int year, int month, int firstDayOfWeek) {
+        mYear = year;
+        mMonth = month;
+        mFirstDayOfWeek = firstDayOfWeek;
+
+        int firstMonthDay = DateUtils.getEpochDay(year, month, 1);
+
+        // Count when month is beginning
+        mLeadingOffset = (DateUtils.getDayOfWeek(firstMonthDay) - firstDayOfWeek + DAYS_IN_WEEK) % DAYS_IN_WEEK;
+        mFirstEpochDay = firstMonthDay - mLeadingOffset;
+
+        mDaysInMonth = DateUtils.getEpochDay(year, month + 1, 1) - firstMonthDay;
+        mPreviousMonthDays = firstMonthDay - DateUtils.getEpochDay(year, month - 1, 1);
+    }
+
+    /**
+     * @param yearMonth      A number of months since year 0, see {@link #getYearMonth()}
+     * @param firstDayOfWeek The first day of the week, i.e. {@link java.util.Calendar#MONDAY}
+     * @return MonthGrid of given month
+     */
+    public static MonthGrid fromYearMonth(int yearMonth, int firstDayOfWeek) {
+        return new MonthGrid(yearMonth / 12, yearMonth % 12, firstDayOfWeek);
+    }
+
+    public int getYear() {
+        return mYear;
+    }
+
+    /**
+     * @return The page month, counted from 0 like {@link java.util.Calendar#MONTH}
+     */
+    public int getMonth() {
+        return mMonth;
+    }
+
+    /**
+     * @return A number of months since year 0 (year * 12 + month)
+     */
+    public int getYearMonth() {
+        return mYear * 12 + mMonth;
+    }
+
+    public int getFirstDayOfWeek() {
+        return mFirstDayOfWeek;
+    }
+
+    /**
+     * @return Epoch day of the first cell of the page
+     */
+    public int getFirstEpochDay() {
+        return mFirstEpochDay;
+    }
+
+    /**
+     * @return A number of cells before the first day of the page month
+     */
+    public int getLeadingOffset() {
+        return mLeadingOffset;
+    }
+
+    public int getDaysInMonth() {
+        return mDaysInMonth;
+    }
+
+    /**
+     * @return A number of rows containing at least one day of the page month
+     */
+    public int getRowCount() {
+        return (mLeadingOffset + mDaysInMonth + DAYS_IN_WEEK - 1) / DAYS_IN_WEEK;
+    }
+
+    /**
+     * @param position Position of the cell in the page
+     * @return Epoch day of the cell
+     */
+    public int getEpochDay(int position) {
+        return mFirstEpochDay + position;
+    }
+
+    /**
+     * @param epochDay Epoch day to find
+     * @return Position of the cell representing given day or -1 if the day isn't displayed
+     */
+    public int getPosition(int epochDay) {
+        int position = epochDay - mFirstEpochDay;
+        return position >= 0 && position < CELLS_COUNT ? position : -1;
+    }
+
+    /**
+     * @param position Position of the cell in the page
+     * @return A day of month of the cell
+     */
+    public int getDayOfMonth(int position) {
+        int day = position - mLeadingOffset + 1;
+
+        if (day < 1) {
+            return day + mPreviousMonthDays;
+        }
+
+        if (day > mDaysInMonth) {
+            return day - mDaysInMonth;
+        }
+
+        return day;
+    }
+
+    /**
+     * @param position Position of the cell in the page
+     * @return Boolean value if the cell belongs to the page month
+     */
+    public boolean isPageMonthDay(int position) {
+        return position >= mLeadingOffset && position < mLeadingOffset + mDaysInMonth;
+    }
+}
@@ -0,0 +1,214 @@
+package com.applandeo.materialcalendarview.model;
+
+import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
+import android.support.annotation.DrawableRes;
+
+import com.applandeo.materialcalendarview.utils.DateUtils;
+import com.applandeo.materialcalendarview.utils.EpochDaySet;
+
+import java.util.Calendar;
+
+/**
+ * This class represents an event repeated daily, weekly, monthly or yearly, like RRULE of iCalendar.
+ * Occurrences aren't created when the event is set, an {@link EventDay} object is created only
+ * for occurrences in months displayed by the calendar.
+ * <p>
+ * Monthly and yearly events skip months which don't have the day of the first occurrence,
+ * i.e. an event repeated monthly from 31 January doesn't occur in February. Such skipped days
+ * aren't counted by {@link #setCount(int)}, but exceptions are.
+ */
+public class RecurringEvent {
+
+    public static final int DAILY = 0;
+    public static final int WEEKLY = 1;
+    public static final int MONTHLY = 2;
+    public static final int YEARLY = 3;
+
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final int mFirstDay;
+    private final Object mDrawable;
+    private final int mFrequency;
+
+    private int mInterval = 1;
+    private int mCount = UNLIMITED;
+    private int mUntil = Integer.MAX_VALUE;
+    private final EpochDaySet mExceptions = new EpochDaySet();
+
+    private int mPriority;
+    private int mDotColor;
+    private boolean mHasDotColor;
+
+    /**
+     * @param firstDay  Calendar object representing the first occurrence
+     * @param drawable  Drawable resource which will be displayed in cells of occurrences
+     * @param frequency One of {@link #DAILY}, {@link #WEEKLY}, {@link #MONTHLY}, {@link #YEARLY}
+     */
+    public RecurringEvent(Calendar firstDay, @DrawableRes int drawable, int frequency) {
+        this(firstDay, (Object) drawable, frequency);
+    }
+
+    /**
+     * @param firstDay  Calendar object representing the first occurrence
+     * @param drawable  Drawable which will be displayed in cells of occurrences
+     * @param frequency One of {@link #DAILY}, {@link #WEEKLY}, {@link #MONTHLY}, {@link #YEARLY}
+     */
+    public RecurringEvent(Calendar firstDay, Drawable drawable, int frequency) {
+        this(firstDay, (Object) drawable, frequency);
+    }
+
+    private RecurringEvent(Calendar firstDay, Object drawable, int frequency) {
+        if (frequency < DAILY || frequency > YEARLY) {
+            throw new IllegalArgumentException("Unknown frequency: " + frequency);
+        }
+
+        mFirstDay = DateUtils.getEpochDay(firstDay);
+        mDrawable = drawable;
+        mFrequency = frequency;
+    }
+
+    /**
+     * @param interval A number of days, weeks, months or years between occurrences, 1 by default
+     */
+    public void setInterval(int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Interval has to be positive");
+        }
+
+        mInterval = interval;
+    }
+
+    /**
+     * @param count A maximum number of occurrences, including exceptions
+     */
+    public void setCount(int count) {
+        mCount = count;
+    }
+
+    /**
+     * @param until Calendar object representing the last day on which the event can occur
+     */
+    public void setUntil(Calendar until) {
+        mUntil = DateUtils.getEpochDay(until);
+    }
+
+    /**
+     * @param day Calendar object representing an occurrence which is skipped
+     */
+    public void addException(Calendar day) {
+        mExceptions.add(DateUtils.getEpochDay(day));
+    }
+
+    /**
+     * @param priority Priority of occurrences, see {@link EventDay#setPriority(int)}
+     */
+    public void setPriority(int priority) {
+        mPriority = priority;
+    }
+
+    /**
+     * @param dotColor Color of dots of occurrences, see {@link EventDay#setDotColor(int)}
+     */
+    public void setDotColor(@ColorInt int dotColor) {
+        mDotColor = dotColor;
+        mHasDotColor = true;
+    }
+
+    public int getFrequency() {
+        return mFrequency;
+    }
+
+    public Object getImageDrawable() {
+        return mDrawable;
+    }
+
+    /**
+     * @param firstDay Epoch day of the first day of the period
+     * @param lastDay  Epoch day of the last day of the period
+     * @return Sorted array of epoch days of occurrences in the period
+     */
+    public int[] getOccurrences(int firstDay, int lastDay) {
+        int to = Math.min(lastDay, mUntil);
+
+        if (to < mFirstDay || to < firstDay) {
+            return new int[0];
+        }
+
+        EpochDaySet occurrences = new EpochDaySet();
+
+        if (mFrequency == DAILY || mFrequency == WEEKLY) {
+            addDailyOccurrences(occurrences, firstDay, to, mFrequency == WEEKLY ? 7 * mInterval : mInterval);
+        } else {
+            addMonthlyOccurrences(occurrences, firstDay, to, mFrequency == YEARLY ? 12 * mInterval : mInterval);
+        }
+
+        occurrences.removeAll(mExceptions);
+        return occurrences.toArray();
+    }
+
+    /**
+     * @return EventDay object of an occurrence on given day
+     */
+    public EventDay createEventDay(int epochDay) {
+        EventDay eventDay = new EventDay(DateUtils.getCalendar(epochDay), mDrawable);
+        eventDay.setPriority(mPriority);
+
+        if (mHasDotColor) {
+            eventDay.setDotColor(mDotColor);
+        }
+
+        return eventDay;
+    }
+
+    private void addDailyOccurrences(EpochDaySet occurrences, int firstDay, int lastDay, int step) {
+        // Occurrences are evenly spaced, so the first one in the period is computed directly
+        int first = Math.max(0, (firstDay - mFirstDay + step - 1) / step);
+        int last = (lastDay - mFirstDay) / step;
+
+        if (mCount != UNLIMITED) {
+            last = Math.min(last, mCount - 1);
+        }
+
+        for (int occurrence = first; occurrence <= last; occurrence++) {
+            occurrences.add(mFirstDay + occurrence * step);
+        }
+    }
+
+    private void addMonthlyOccurrences(EpochDaySet occurrences, int firstDay, int lastDay, int step) {
+        int firstYearMonth = DateUtils.getYearMonth(mFirstDay);
+        int dayOfMonth = mFirstDay - DateUtils.getEpochDay(firstYearMonth / 12, firstYearMonth % 12, 1) + 1;
+        int count = 0;
+        int yearMonth = firstYearMonth;
+
+        // Months without the day are skipped and not counted, so months are walked from the first one
+        // only when a number of occurrences is limited. Otherwise the walk starts in the period.
+        if (mCount == UNLIMITED) {
+            int periodYearMonth = DateUtils.getYearMonth(firstDay);
+
+            if (periodYearMonth > firstYearMonth) {
+                yearMonth += (periodYearMonth - firstYearMonth + step - 1) / step * step;
+            }
+        }
+
+        for (; count < mCount; yearMonth += step) {
+            int year = yearMonth / 12;
+            int month = yearMonth % 12;
+            int day = DateUtils.getEpochDay(year, month, dayOfMonth);
+
+            if (day > lastDay) {
+                return;
+            }
+
+            if (DateUtils.getYearMonth(day) != yearMonth) {
+                continue;
+            }
+
+            count++;
+
+            if (day >= firstDay) {
+                occurrences.add(day);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.applandeo.materialcalendarview.model;
+
+import com.applandeo.materialcalendarview.utils.DateUtils;
+import com.applandeo.materialcalendarview.utils.EpochDaySet;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * This class represents a range of days selected when calendar is in the range picker mode.
+ * It keeps only the first and the last day of the range and a rule of excluded (disabled) days,
+ * so a size of the range doesn't matter. Calendar objects of all selected days are created
+ * only when {@link #getDates()} is called.
+ */
+public class SelectedRange {
+
+    private final int mFirstDay;
+    private final int mLastDay;
+    private final DisabledDayRule mExcludedDays;
+
+    /**
+     * @param firstDay     Epoch day of one end of the range
+     * @param lastDay      Epoch day of another end of the range
+     * @param excludedDays Set of days which are not selected even if they are in the range
+     */
+    public SelectedRange(int firstDay, int lastDay, EpochDaySet excludedDays) {
+        this(firstDay, lastDay, excludedDays::contains);
+    }
+
+    /**
+     * @param firstDay     Epoch day of one end of the range
+     * @param lastDay      Epoch day of another end of the range
+     * @param excludedDays Rule of days which are not selected even if they are in the range
+     */
+    public SelectedRange(int firstDay, int lastDay, DisabledDayRule excludedDays) {
+        mFirstDay = Math.min(firstDay, lastDay);
+        mLastDay = Math.max(firstDay, lastDay);
+        mExcludedDays = excludedDays;
+    }
+
+    /**
+     * @return Epoch day of the first day of the range
+     */
+    public int getFirstDay() {
+        return mFirstDay;
+    }
+
+    /**
+     * @return Epoch day of the last day of the range
+     */
+    public int getLastDay() {
+        return mLastDay;
+    }
+
+    /**
+     * @param epochDay Epoch day to check
+     * @return Boolean value if given day is in the range and it isn't excluded
+     */
+    public boolean contains(int epochDay) {
+        return epochDay >= mFirstDay && epochDay <= mLastDay && !mExcludedDays.isDisabled(epochDay);
+    }
+
+    /**
+     * @return A number of selected days in the range
+     */
+    public int size() {
+        int size = 0;
+
+        for (int day = mFirstDay; day <= mLastDay; day++) {
+            if (!mExcludedDays.isDisabled(day)) {
+                size++;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * @return Sorted list of Calendar objects representing all selected days in the range
+     */
+    public List<Calendar> getDates() {
+        List<Calendar> dates = new ArrayList<>(size());
+        Calendar calendar = DateUtils.getCalendar(mFirstDay);
+
+        for (int day = mFirstDay; day <= mLastDay; day++) {
+            if (!mExcludedDays.isDisabled(day)) {
+                dates.add((Calendar) calendar.clone());
+            }
+
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        }
+
+        return dates;
+    }
+}
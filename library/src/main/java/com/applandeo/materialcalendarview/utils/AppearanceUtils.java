@@ -72,9 +72,11 @@ public final class AppearanceUtils {
     }
 
     public static void setDayNames(View view, @ArrayRes int dayNames, @StyleRes int textAppearance, int firstDayOfWeek) {
-        List<TextView> labels = getDayNameLabels(view);
+        setDayNames(view, view.getContext().getResources().getStringArray(dayNames), textAppearance, firstDayOfWeek);
+    }
 
-        String[] abbreviations = view.getContext().getResources().getStringArray(dayNames);
+    public static void setDayNames(View view, String[] abbreviations, @StyleRes int textAppearance, int firstDayOfWeek) {
+        List<TextView> labels = getDayNameLabels(view);
 
         for (int i = 0; i < 7; i++) {
             TextView label = labels.get(i);
@@ -110,41 +112,32 @@ public final class AppearanceUtils {
     }
 
     public static void setDisabledDayTextAppearance(TextView dayLabel, CalendarProperties calendarProperties) {
-        setDayTextAppearance(dayLabel,
-                calendarProperties.getDisabledDayTextAppearance(),
-                calendarProperties.getDisabledDayBackgroundSrc());
+        if (dayLabel != null) {
+            calendarProperties.getDisabledDayStyle(dayLabel.getContext()).applyTo(dayLabel);
+        }
     }
 
     public static void setSelectedDayTextAppearance(TextView dayLabel, CalendarProperties calendarProperties) {
-        setDayTextAppearance(dayLabel,
-                calendarProperties.getSelectedDayTextAppearance(),
-                calendarProperties.getSelectedDayBackgroundSrc());
+        if (dayLabel != null) {
+            calendarProperties.getSelectedDayStyle(dayLabel.getContext()).applyTo(dayLabel);
+        }
     }
 
     public static void setTodayTextAppearance(TextView dayLabel, CalendarProperties calendarProperties) {
-        setDayTextAppearance(dayLabel,
-                calendarProperties.getTodayTextAppearance(),
-                calendarProperties.getTodayDayBackgroundSrc());
+        if (dayLabel != null) {
+            calendarProperties.getTodayStyle(dayLabel.getContext()).applyTo(dayLabel);
+        }
     }
 
     public static void setCurrentMonthDayTextAppearance(TextView dayLabel, CalendarProperties calendarProperties) {
-        setDayTextAppearance(dayLabel,
-                calendarProperties.getCurrentMonthDayTextAppearance(),
-                calendarProperties.getCurrentMonthDayBackgroundSrc());
+        if (dayLabel != null) {
+            calendarProperties.getCurrentMonthDayStyle(dayLabel.getContext()).applyTo(dayLabel);
+        }
     }
 
     public static void setAnotherMonthDayTextAppearance(TextView dayLabel, CalendarProperties calendarProperties) {
-        setDayTextAppearance(dayLabel,
-                calendarProperties.getAnotherMonthDayTextAppearance(),
-                calendarProperties.getAnotherMonthDayBackgroundSrc());
-    }
-
-    private static void setDayTextAppearance(TextView textView, int textAppearance, int background) {
-        if (textView == null) {
-            return;
+        if (dayLabel != null) {
+            calendarProperties.getAnotherMonthDayStyle(dayLabel.getContext()).applyTo(dayLabel);
         }
-
-        textView.setTextAppearance(textView.getContext(), textAppearance);
-        textView.setBackgroundResource(background);
     }
 }
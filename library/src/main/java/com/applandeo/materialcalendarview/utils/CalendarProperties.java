@@ -1,25 +1,35 @@
 package com.applandeo.materialcalendarview.utils;
 
+import android.content.Context;
+import android.content.res.Resources;
 import android.support.annotation.ArrayRes;
 import android.support.annotation.ColorRes;
 import android.support.annotation.DrawableRes;
 import android.support.annotation.StyleRes;
+import android.util.LruCache;
+import android.util.SparseIntArray;
 
 import com.annimon.stream.Stream;
 import com.applandeo.materialcalendarview.CalendarView;
 import com.applandeo.materialcalendarview.R;
 import com.applandeo.materialcalendarview.exceptions.ErrorsMessages;
 import com.applandeo.materialcalendarview.exceptions.UnsupportedMethodsException;
+import com.applandeo.materialcalendarview.listeners.CalendarPerformanceListener;
 import com.applandeo.materialcalendarview.listeners.OnCalendarPageChangeListener;
 import com.applandeo.materialcalendarview.listeners.OnDayClickListener;
 import com.applandeo.materialcalendarview.listeners.OnSelectDateListener;
 import com.applandeo.materialcalendarview.listeners.OnSelectionAbilityListener;
+import com.applandeo.materialcalendarview.model.DisabledDayRule;
 import com.applandeo.materialcalendarview.model.EventDay;
+import com.applandeo.materialcalendarview.model.EventsSummary;
+import com.applandeo.materialcalendarview.model.RecurringEvent;
 import com.applandeo.materialcalendarview.model.SelectedDay;
+import com.applandeo.materialcalendarview.model.SelectedRange;
 
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * This class contains all properties of the calendar
@@ -29,8 +39,9 @@ import java.util.List;
 public class CalendarProperties {
 
     /**
-     * A number of months (pages) in the calendar
-     * 2401 months means 1200 months (100 years) before and 1200 months after the current month
+     * A maximum number of months (pages) in the calendar
+     * 2401 months means 1200 months (100 years) before and 1200 months after the current month,
+     * pages are also bounded by the minimum and maximum dates
      */
     public static final int CALENDAR_SIZE = 2401;
     public static final int FIRST_VISIBLE_PAGE = CALENDAR_SIZE / 2;
@@ -80,11 +91,18 @@ public class CalendarProperties {
             mSelectedDayBackgroundSrc, mSelectedDayTextAppearance,
             mDisabledDayBackgroundSrc, mDisabledDayTextAppearance;
 
-    private boolean mEventsEnabled;
+    private boolean mEventsEnabled, mCanvasRenderingEnabled;
+
+    // Months prepared ahead of the current page in a direction of scrolling
+    private int mPrefetchDepth = 1;
 
     private Calendar mFirstPageCalendarDate = DateUtils.getCalendar();
     private Calendar mCalendar, mMinimumDate, mMaximumDate;
 
+    // Bounds normalized to epoch days and months when they are set, so dates are compared as numbers
+    private int mMinimumDay = Integer.MIN_VALUE, mMaximumDay = Integer.MAX_VALUE;
+    private int mMinimumYearMonth = Integer.MIN_VALUE, mMaximumYearMonth = Integer.MAX_VALUE;
+
     private OnDayClickListener mOnDayClickListener;
     private OnSelectDateListener mOnSelectDateListener;
     private OnSelectionAbilityListener mOnSelectionAbilityListener;
@@ -92,8 +110,35 @@ public class CalendarProperties {
     private OnCalendarPageChangeListener mOnForwardPageChangeListener;
 
     private List<EventDay> mEventDays = new ArrayList<>();
-    private List<Calendar> mDisabledDays = new ArrayList<>();
+    private EpochDayMap<EventsSummary> mEventDaysIndex = new EpochDayMap<>();
+    private MonthEventsLoader mMonthEventsLoader;
+    private List<RecurringEvent> mRecurringEvents = new ArrayList<>();
+    private RecurringEventsExpander mRecurringEventsExpander;
+
+    private final PerformanceTracer mPerformanceTracer = new PerformanceTracer();
+    private EpochDaySet mDisabledDays = new EpochDaySet();
+    private final List<DisabledDayRule> mDisabledDayRules = new ArrayList<>();
+
+    // Days of months disabled by rules, bit 0 is the first day of a month, months are evaluated when displayed
+    private static final int NOT_EVALUATED = -1;
+    private final SparseIntArray mDisabledDaysMasks = new SparseIntArray();
+
+    // Selected days are kept in mSelectedEpochDays, this list is built from them only when it's needed
     private List<SelectedDay> mSelectedDays = new ArrayList<>();
+    private EpochDaySet mSelectedEpochDays = new EpochDaySet();
+    private SelectedRange mSelectedRange;
+
+    // Names are loaded from resources once per array and locale, header labels are built once per month
+    private static final int HEADER_LABELS_CACHE_SIZE = 24;
+
+    private String[] mMonthNamesArray, mDayNamesArray;
+    private int mLoadedMonthNames, mLoadedDayNames;
+    private Locale mLabelsLocale;
+    private final LruCache<Integer, String> mHeaderLabels = new LruCache<>(HEADER_LABELS_CACHE_SIZE);
+
+    // Styles of day labels resolved once, they are resolved again only if a resource is changed
+    private DayStyle mCurrentMonthDayStyle, mAnotherMonthDayStyle, mTodayStyle,
+            mSelectedDayStyle, mDisabledDayStyle;
 
     public Calendar getCalendar() {
         return mCalendar;
@@ -117,6 +162,15 @@ public class CalendarProperties {
 
     public void setMinimumDate(Calendar minimumDate) {
         mMinimumDate = minimumDate;
+        mMinimumDay = minimumDate == null ? Integer.MIN_VALUE : DateUtils.getEpochDay(minimumDate);
+        mMinimumYearMonth = minimumDate == null ? Integer.MIN_VALUE : DateUtils.getYearMonth(minimumDate);
+    }
+
+    /**
+     * @return Epoch day of the minimum date or Integer.MIN_VALUE if there is no minimum date
+     */
+    public int getMinimumDay() {
+        return mMinimumDay;
     }
 
     public Calendar getMaximumDate() {
@@ -125,6 +179,70 @@ public class CalendarProperties {
 
     public void setMaximumDate(Calendar maximumDate) {
         mMaximumDate = maximumDate;
+        mMaximumDay = maximumDate == null ? Integer.MAX_VALUE : DateUtils.getEpochDay(maximumDate);
+        mMaximumYearMonth = maximumDate == null ? Integer.MAX_VALUE : DateUtils.getYearMonth(maximumDate);
+    }
+
+    /**
+     * @return Epoch day of the maximum date or Integer.MAX_VALUE if there is no maximum date
+     */
+    public int getMaximumDay() {
+        return mMaximumDay;
+    }
+
+    /**
+     * @return A number of months since year 0 of the minimum date or Integer.MIN_VALUE if there is no minimum date
+     */
+    public int getMinimumYearMonth() {
+        return mMinimumYearMonth;
+    }
+
+    /**
+     * @return A number of months since year 0 of the maximum date or Integer.MAX_VALUE if there is no maximum date
+     */
+    public int getMaximumYearMonth() {
+        return mMaximumYearMonth;
+    }
+
+    /**
+     * @param epochDay A day in epoch days
+     * @return Boolean value if given day isn't before the minimum date and isn't after the maximum date
+     */
+    public boolean isBetweenMinAndMax(int epochDay) {
+        return epochDay >= mMinimumDay && epochDay <= mMaximumDay;
+    }
+
+    /**
+     * @return A number of months since year 0 (year * 12 + month) of the first calendar page
+     */
+    public int getFirstPageYearMonth() {
+        return DateUtils.getYearMonth(mFirstPageCalendarDate);
+    }
+
+    /**
+     * This method sets a month of the first calendar page, it's moved to the month of the minimum date
+     * if given month is before it
+     *
+     * @param yearMonth A number of months since year 0 (year * 12 + month)
+     */
+    public void setFirstPageYearMonth(int yearMonth) {
+        yearMonth = Math.max(yearMonth, mMinimumYearMonth);
+        mFirstPageCalendarDate.set(yearMonth / 12, yearMonth % 12, 1);
+    }
+
+    /**
+     * @return A number of months since year 0 (year * 12 + month) of the last calendar page
+     */
+    public int getLastPageYearMonth() {
+        return Math.min(mMaximumYearMonth, getFirstPageYearMonth() + CALENDAR_SIZE - 1);
+    }
+
+    /**
+     * @return A number of calendar pages, months before the minimum date and after the maximum date
+     * don't have pages
+     */
+    public int getPageCount() {
+        return getLastPageYearMonth() - getFirstPageYearMonth() + 1;
     }
 
     public OnDayClickListener getOnDayClickListener() {
@@ -135,6 +253,14 @@ public class CalendarProperties {
         mOnDayClickListener = onDayClickListener;
     }
 
+    public PerformanceTracer getPerformanceTracer() {
+        return mPerformanceTracer;
+    }
+
+    public void setPerformanceListener(CalendarPerformanceListener performanceListener) {
+        mPerformanceTracer.setListener(performanceListener);
+    }
+
     public OnSelectDateListener getOnSelectDateListener() {
         return mOnSelectDateListener;
     }
@@ -175,56 +301,477 @@ public class CalendarProperties {
         mEventsEnabled = eventsEnabled;
     }
 
+    public boolean getCanvasRenderingEnabled() {
+        return mCanvasRenderingEnabled;
+    }
+
+    public void setCanvasRenderingEnabled(boolean canvasRenderingEnabled) {
+        mCanvasRenderingEnabled = canvasRenderingEnabled;
+    }
+
+    public int getPrefetchDepth() {
+        return mPrefetchDepth;
+    }
+
+    public void setPrefetchDepth(int prefetchDepth) {
+        mPrefetchDepth = prefetchDepth;
+    }
+
     public List<EventDay> getEventDays() {
         return mEventDays;
     }
 
     public void setEventDays(List<EventDay> eventDays) {
         mEventDays = eventDays;
+        mEventDaysIndex = indexEventDays(eventDays);
+
+        // Expanded months contain events set directly, so they are expanded again
+        createRecurringEventsExpander();
+    }
+
+    /**
+     * @return A new set of epoch days which have at least one event
+     */
+    public EpochDaySet getEventEpochDays() {
+        return mEventDaysIndex.keySet();
+    }
+
+    /**
+     * The index is replaced, never modified, when events are set, so it can be read on another thread
+     *
+     * @return Summaries of events set directly, indexed by epoch days
+     */
+    public EpochDayMap<EventsSummary> getEventDaysIndex() {
+        return mEventDaysIndex;
+    }
+
+    /**
+     * @param epochDay A day in epoch days
+     * @return The event of given day with the highest priority or null if there is no event
+     */
+    public EventDay getEventDay(int epochDay) {
+        EventsSummary eventsSummary = getEventsSummary(epochDay);
+        return eventsSummary == null ? null : eventsSummary.getTopEventDay();
+    }
+
+    /**
+     * @param epochDay A day in epoch days
+     * @return All events of given day in order they were set or null if there is no event
+     */
+    public List<EventDay> getEventDays(int epochDay) {
+        EventsSummary eventsSummary = getEventsSummary(epochDay);
+        return eventsSummary == null ? null : eventsSummary.getEventDays();
+    }
+
+    /**
+     * @param epochDay A day in epoch days
+     * @return Summary of all events of given day or null if there is no event
+     */
+    public EventsSummary getEventsSummary(int epochDay) {
+        long startTime = mPerformanceTracer.beginSection(CalendarPerformanceListener.SECTION_EVENT_LOOKUP);
+
+        try {
+            // Summaries of expanded months already include events set directly on the same days
+            EventsSummary eventsSummary = mRecurringEventsExpander == null
+                    ? null : mRecurringEventsExpander.getEventsSummary(epochDay);
+
+            if (eventsSummary == null) {
+                eventsSummary = mEventDaysIndex.get(epochDay);
+            }
+
+            // Events set directly are completed by events loaded from EventSource
+            if (eventsSummary == null && mMonthEventsLoader != null) {
+                return mMonthEventsLoader.getEventsSummary(epochDay);
+            }
+
+            return eventsSummary;
+        } finally {
+            mPerformanceTracer.endSection(CalendarPerformanceListener.SECTION_EVENT_LOOKUP, startTime);
+        }
+    }
+
+    public List<RecurringEvent> getRecurringEvents() {
+        return mRecurringEvents;
+    }
+
+    /**
+     * This method replaces recurring events, occurrences expanded for the previous events are dropped
+     *
+     * @param recurringEvents List of RecurringEvent objects
+     */
+    public void setRecurringEvents(List<RecurringEvent> recurringEvents) {
+        mRecurringEvents = recurringEvents;
+        createRecurringEventsExpander();
+    }
+
+    private void createRecurringEventsExpander() {
+        mRecurringEventsExpander = mRecurringEvents == null || mRecurringEvents.isEmpty() ? null
+                : new RecurringEventsExpander(mRecurringEvents, mEventDaysIndex, mPerformanceTracer);
+    }
+
+    public MonthEventsLoader getMonthEventsLoader() {
+        return mMonthEventsLoader;
+    }
+
+    public void setMonthEventsLoader(MonthEventsLoader monthEventsLoader) {
+        mMonthEventsLoader = monthEventsLoader;
+    }
+
+    /**
+     * This method groups events by days and summarizes every day, so cells are bound
+     * without scanning events of their days
+     */
+    static EpochDayMap<EventsSummary> indexEventDays(List<EventDay> eventDays) {
+        if (eventDays == null) {
+            return new EpochDayMap<>();
+        }
+
+        EpochDayMap<List<EventDay>> dayEvents = new EpochDayMap<>(eventDays.size());
+
+        for (EventDay eventDay : eventDays) {
+            int epochDay = DateUtils.getEpochDay(eventDay.getCalendar());
+            List<EventDay> events = dayEvents.get(epochDay);
+
+            if (events == null) {
+                events = new ArrayList<>(1);
+                dayEvents.put(epochDay, events);
+            }
+
+            events.add(eventDay);
+        }
+
+        EpochDaySet days = dayEvents.keySet();
+        EpochDayMap<EventsSummary> index = new EpochDayMap<>(dayEvents.size());
+
+        for (int day = days.firstDay(); day != EpochDaySet.NONE; day = days.nextDay(day + 1)) {
+            index.put(day, EventsSummary.of(dayEvents.get(day)));
+        }
+
+        return index;
     }
 
+    /**
+     * This method creates a new list of Calendar objects, use {@link #isDisabledDay(int)}
+     * to check a single day. Days disabled by rules aren't included.
+     *
+     * @return List of Calendar objects representing disabled days
+     */
     public List<Calendar> getDisabledDays() {
-        return mDisabledDays;
+        int[] epochDays = mDisabledDays.toArray();
+        List<Calendar> disabledDays = new ArrayList<>(epochDays.length);
+
+        for (int epochDay : epochDays) {
+            disabledDays.add(DateUtils.getCalendar(epochDay));
+        }
+
+        return disabledDays;
     }
 
     public void setDisabledDays(List<Calendar> disabledDays) {
-        mSelectedDays.removeAll(disabledDays);
+        mDisabledDays.clear();
+
+        for (Calendar calendar : disabledDays) {
+            mDisabledDays.add(DateUtils.getEpochDay(calendar));
+        }
+
+        removeDisabledSelectedDays();
+    }
+
+    /**
+     * @return A new set of disabled epoch days, days disabled by rules aren't included
+     */
+    public EpochDaySet getDisabledEpochDays() {
+        return new EpochDaySet(mDisabledDays);
+    }
+
+    /**
+     * @param disabledDays Set of disabled epoch days, it's copied
+     */
+    public void setDisabledEpochDays(EpochDaySet disabledDays) {
+        mDisabledDays = new EpochDaySet(disabledDays);
+        removeDisabledSelectedDays();
+    }
+
+    /**
+     * This method disables all days between given dates without creating Calendar objects
+     * for every day
+     *
+     * @param firstDay Calendar object representing the first disabled day
+     * @param lastDay  Calendar object representing the last disabled day
+     */
+    public void addDisabledDays(Calendar firstDay, Calendar lastDay) {
+        mDisabledDays.addRange(DateUtils.getEpochDay(firstDay), DateUtils.getEpochDay(lastDay));
+        removeDisabledSelectedDays();
+    }
 
-        mDisabledDays = Stream.of(disabledDays)
-                .map(calendar -> {
-                    DateUtils.setMidnight(calendar);
-                    return calendar;
-                }).toList();
+    public List<DisabledDayRule> getDisabledDayRules() {
+        return mDisabledDayRules;
     }
 
+    /**
+     * This method disables days matching the rule, i.e. weekends or holidays, without
+     * enumerating them
+     *
+     * @param disabledDayRule DisabledDayRule object, see {@link DisabledDayRules}
+     */
+    public void addDisabledDayRule(DisabledDayRule disabledDayRule) {
+        mDisabledDayRules.add(disabledDayRule);
+        mDisabledDaysMasks.clear();
+        removeDisabledSelectedDays();
+    }
+
+    public void removeDisabledDayRule(DisabledDayRule disabledDayRule) {
+        mDisabledDayRules.remove(disabledDayRule);
+        mDisabledDaysMasks.clear();
+    }
+
+    public void clearDisabledDayRules() {
+        mDisabledDayRules.clear();
+        mDisabledDaysMasks.clear();
+    }
+
+    public boolean isDisabledDay(int epochDay) {
+        return mDisabledDays.contains(epochDay)
+                || (!mDisabledDayRules.isEmpty() && isDisabledByRules(epochDay));
+    }
+
+    public boolean isDisabledDay(Calendar calendar) {
+        return isDisabledDay(DateUtils.getEpochDay(calendar));
+    }
+
+    private boolean isDisabledByRules(int epochDay) {
+        int yearMonth = DateUtils.getYearMonth(epochDay);
+        int firstDay = DateUtils.getEpochDay(yearMonth / 12, yearMonth % 12, 1);
+
+        return (getDisabledDaysMask(yearMonth, firstDay) & (1 << (epochDay - firstDay))) != 0;
+    }
+
+    private int getDisabledDaysMask(int yearMonth, int firstDay) {
+        int mask = mDisabledDaysMasks.get(yearMonth, NOT_EVALUATED);
+
+        if (mask != NOT_EVALUATED) {
+            return mask;
+        }
+
+        mask = 0;
+        int monthLength = DateUtils.getEpochDay(yearMonth / 12, yearMonth % 12 + 1, 1) - firstDay;
+
+        for (int day = 0; day < monthLength; day++) {
+            for (int i = 0; i < mDisabledDayRules.size(); i++) {
+                if (mDisabledDayRules.get(i).isDisabled(firstDay + day)) {
+                    mask |= 1 << day;
+                    break;
+                }
+            }
+        }
+
+        mDisabledDaysMasks.put(yearMonth, mask);
+        return mask;
+    }
+
+    /**
+     * This method removes days disabled directly or by rules from given set
+     */
+    private void removeDisabledDays(EpochDaySet days) {
+        days.removeAll(mDisabledDays);
+
+        if (mDisabledDayRules.isEmpty()) {
+            return;
+        }
+
+        for (int day = days.firstDay(); day != EpochDaySet.NONE; day = days.nextDay(day + 1)) {
+            if (isDisabledByRules(day)) {
+                days.remove(day);
+            }
+        }
+    }
+
+    private void removeDisabledSelectedDays() {
+        if (mSelectedDays == null) {
+            removeDisabledDays(mSelectedEpochDays);
+            return;
+        }
+
+        mSelectedDays = Stream.of(mSelectedDays)
+                .filterNot(selectedDay -> isDisabledDay(selectedDay.getCalendar()))
+                .toList();
+
+        // Disabled days inside the range are skipped by it, but a range without both ends isn't selected
+        if (mSelectedDays.size() < 2) {
+            mSelectedRange = null;
+        }
+
+        indexSelectedDays();
+    }
+
+    /**
+     * In the range picker mode this list contains only the first and the last day of the range,
+     * use {@link #getSelectedRange()} to get all days of the range. Days selected by
+     * {@link #setSelectedEpochDays(EpochDaySet)} get SelectedDay objects on the first call.
+     *
+     * @return List of SelectedDay objects representing days selected by the user
+     */
     public List<SelectedDay> getSelectedDays() {
+        if (mSelectedDays == null) {
+            mSelectedDays = new ArrayList<>(mSelectedEpochDays.size());
+
+            for (int day = mSelectedEpochDays.firstDay(); day != EpochDaySet.NONE;
+                 day = mSelectedEpochDays.nextDay(day + 1)) {
+                mSelectedDays.add(new SelectedDay(DateUtils.getCalendar(day)));
+            }
+        }
+
         return mSelectedDays;
     }
 
+    /**
+     * @return Boolean value if any day is selected, it doesn't build the list of selected days
+     */
+    public boolean hasSelectedDays() {
+        return !mSelectedEpochDays.isEmpty();
+    }
+
+    /**
+     * @return Range of selected days or null if the range is not selected
+     */
+    public SelectedRange getSelectedRange() {
+        return mSelectedRange;
+    }
+
+    /**
+     * @param epochDay A day in epoch days
+     * @return Boolean value if given day is selected
+     */
+    public boolean isSelectedDay(int epochDay) {
+        return mSelectedEpochDays.contains(epochDay)
+                || (mSelectedRange != null && mSelectedRange.contains(epochDay));
+    }
+
+    /**
+     * @return A new set of all selected epoch days, including days of the selected range
+     */
+    public EpochDaySet getSelectedEpochDays() {
+        EpochDaySet selectedDays = new EpochDaySet(mSelectedEpochDays);
+
+        if (mSelectedRange != null) {
+            selectedDays.addRange(mSelectedRange.getFirstDay(), mSelectedRange.getLastDay());
+            removeDisabledDays(selectedDays);
+        }
+
+        return selectedDays;
+    }
+
     public void setSelectedDay(Calendar calendar) {
         setSelectedDay(new SelectedDay(calendar));
     }
 
     public void setSelectedDay(SelectedDay selectedDay) {
-        mSelectedDays.clear();
+        mSelectedDays = new ArrayList<>();
         mSelectedDays.add(selectedDay);
+        mSelectedRange = null;
+
+        indexSelectedDays();
+    }
+
+    public void addSelectedDay(SelectedDay selectedDay) {
+        // A list which isn't built yet gets the day when it's built
+        if (mSelectedDays != null) {
+            mSelectedDays.add(selectedDay);
+        }
+
+        mSelectedEpochDays.add(DateUtils.getEpochDay(selectedDay.getCalendar()));
+    }
+
+    public void removeSelectedDay(SelectedDay selectedDay) {
+        int epochDay = DateUtils.getEpochDay(selectedDay.getCalendar());
+
+        if (mSelectedDays != null) {
+            mSelectedDays = Stream.of(mSelectedDays)
+                    .filterNot(value -> DateUtils.getEpochDay(value.getCalendar()) == epochDay)
+                    .toList();
+        }
+
+        mSelectedEpochDays.remove(epochDay);
+        mSelectedRange = null;
+    }
+
+    /**
+     * This method selects all enabled days between given days. Only given days are stored
+     * as SelectedDay objects, days between them are represented by {@link SelectedRange}.
+     *
+     * @param firstDay SelectedDay object representing one end of the range
+     * @param lastDay  SelectedDay object representing another end of the range
+     */
+    public void setSelectedRange(SelectedDay firstDay, SelectedDay lastDay) {
+        mSelectedDays = new ArrayList<>();
+        mSelectedDays.add(firstDay);
+        mSelectedDays.add(lastDay);
+
+        mSelectedRange = new SelectedRange(DateUtils.getEpochDay(firstDay.getCalendar()),
+                DateUtils.getEpochDay(lastDay.getCalendar()), this::isDisabledDay);
+
+        indexSelectedDays();
     }
 
     public void setSelectedDays(List<Calendar> selectedDays) {
+        int[] epochDays = new int[selectedDays.size()];
+
+        for (int i = 0; i < epochDays.length; i++) {
+            epochDays[i] = DateUtils.getEpochDay(selectedDays.get(i));
+        }
+
+        EpochDaySet selectedEpochDays = new EpochDaySet();
+        selectedEpochDays.addAll(epochDays);
+        setSelectedEpochDays(selectedEpochDays);
+    }
+
+    /**
+     * This method replaces selected days in time linear to a number of days. Disabled days are
+     * skipped and days are selected in ascending order, so a list passed to the listener is sorted.
+     *
+     * @param epochDays Set of epoch days to select, it isn't modified
+     */
+    public void setSelectedEpochDays(EpochDaySet epochDays) {
+        long startTime = mPerformanceTracer.beginSection(CalendarPerformanceListener.SECTION_SELECTION_UPDATE);
+
+        try {
+            updateSelectedDays(epochDays);
+        } finally {
+            mPerformanceTracer.endSection(CalendarPerformanceListener.SECTION_SELECTION_UPDATE, startTime);
+        }
+    }
+
+    private void updateSelectedDays(EpochDaySet epochDays) {
         if (mCalendarType == CalendarView.ONE_DAY_PICKER) {
             throw new UnsupportedMethodsException(ErrorsMessages.ONE_DAY_PICKER_MULTIPLE_SELECTION);
         }
 
-        if (mCalendarType == CalendarView.RANGE_PICKER && !DateUtils.isFullDatesRange(selectedDays)) {
+        if (mCalendarType == CalendarView.RANGE_PICKER && !epochDays.isRange()) {
             throw new UnsupportedMethodsException(ErrorsMessages.RANGE_PICKER_NOT_RANGE);
         }
 
-        mSelectedDays = Stream.of(selectedDays)
-                .map(calendar -> {
-                    DateUtils.setMidnight(calendar);
-                    return new SelectedDay(calendar);
-                }).filterNot(value -> mDisabledDays.contains(value.getCalendar()))
-                .toList();
+        EpochDaySet selectedDays = new EpochDaySet(epochDays);
+        removeDisabledDays(selectedDays);
+
+        mSelectedRange = null;
+
+        if (mCalendarType == CalendarView.RANGE_PICKER && selectedDays.size() > 1) {
+            setSelectedRange(new SelectedDay(DateUtils.getCalendar(selectedDays.firstDay())),
+                    new SelectedDay(DateUtils.getCalendar(selectedDays.lastDay())));
+            return;
+        }
+
+        // SelectedDay objects are created by getSelectedDays(), so selecting many days creates no Calendar objects
+        mSelectedDays = null;
+        mSelectedEpochDays = selectedDays;
+    }
+
+    private void indexSelectedDays() {
+        mSelectedEpochDays.clear();
+
+        for (SelectedDay selectedDay : mSelectedDays) {
+            mSelectedEpochDays.add(DateUtils.getEpochDay(selectedDay.getCalendar()));
+        }
     }
 
     public int getCalendarType() {
@@ -490,4 +1037,87 @@ public class CalendarProperties {
     public void setDisabledDayTextAppearance(@StyleRes int disabledDayTextAppearance) {
         this.mDisabledDayTextAppearance = disabledDayTextAppearance;
     }
+
+    public DayStyle getCurrentMonthDayStyle(Context context) {
+        mCurrentMonthDayStyle = resolveDayStyle(context, mCurrentMonthDayStyle,
+                getCurrentMonthDayTextAppearance(), getCurrentMonthDayBackgroundSrc());
+        return mCurrentMonthDayStyle;
+    }
+
+    public DayStyle getAnotherMonthDayStyle(Context context) {
+        mAnotherMonthDayStyle = resolveDayStyle(context, mAnotherMonthDayStyle,
+                getAnotherMonthDayTextAppearance(), getAnotherMonthDayBackgroundSrc());
+        return mAnotherMonthDayStyle;
+    }
+
+    public DayStyle getTodayStyle(Context context) {
+        mTodayStyle = resolveDayStyle(context, mTodayStyle,
+                getTodayTextAppearance(), getTodayDayBackgroundSrc());
+        return mTodayStyle;
+    }
+
+    public DayStyle getSelectedDayStyle(Context context) {
+        mSelectedDayStyle = resolveDayStyle(context, mSelectedDayStyle,
+                getSelectedDayTextAppearance(), getSelectedDayBackgroundSrc());
+        return mSelectedDayStyle;
+    }
+
+    public DayStyle getDisabledDayStyle(Context context) {
+        mDisabledDayStyle = resolveDayStyle(context, mDisabledDayStyle,
+                getDisabledDayTextAppearance(), getDisabledDayBackgroundSrc());
+        return mDisabledDayStyle;
+    }
+
+    private DayStyle resolveDayStyle(Context context, DayStyle dayStyle, int textAppearance, int background) {
+        boolean hit = dayStyle != null && dayStyle.matches(textAppearance, background);
+        mPerformanceTracer.onCacheAccess(CalendarPerformanceListener.CACHE_DAY_STYLES, hit);
+
+        return hit ? dayStyle : new DayStyle(context, textAppearance, background);
+    }
+
+    /**
+     * @param context   The context
+     * @param yearMonth A number of months since year 0 (year * 12 + month)
+     * @return Label of the calendar header containing a month name and a year
+     */
+    public String getHeaderLabel(Context context, int yearMonth) {
+        loadNames(context);
+
+        String headerLabel = mHeaderLabels.get(yearMonth);
+        mPerformanceTracer.onCacheAccess(CalendarPerformanceListener.CACHE_HEADER_LABELS, headerLabel != null);
+
+        if (headerLabel == null) {
+            headerLabel = mMonthNamesArray[yearMonth % 12] + "  " + yearMonth / 12;
+            mHeaderLabels.put(yearMonth, headerLabel);
+        }
+
+        return headerLabel;
+    }
+
+    /**
+     * @param context The context
+     * @return Array of day names abbreviations, starting from Monday
+     */
+    public String[] getDayNamesArray(Context context) {
+        loadNames(context);
+        return mDayNamesArray;
+    }
+
+    private void loadNames(Context context) {
+        Resources resources = context.getResources();
+        Locale locale = resources.getConfiguration().locale;
+
+        if (mMonthNamesArray != null && mLoadedMonthNames == getMonthNames()
+                && mLoadedDayNames == getDayNames() && locale.equals(mLabelsLocale)) {
+            return;
+        }
+
+        mLoadedMonthNames = getMonthNames();
+        mLoadedDayNames = getDayNames();
+        mLabelsLocale = locale;
+
+        mMonthNamesArray = resources.getStringArray(mLoadedMonthNames);
+        mDayNamesArray = resources.getStringArray(mLoadedDayNames);
+        mHeaderLabels.evictAll();
+    }
 }
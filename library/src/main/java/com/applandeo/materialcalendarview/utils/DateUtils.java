@@ -50,18 +50,7 @@ public class DateUtils {
      * @return Boolean value if second calendar is before the first one
      */
     public static boolean isMonthBefore(Calendar firstCalendar, Calendar secondCalendar) {
-        if (firstCalendar == null) {
-            return false;
-        }
-
-        Calendar firstDay = (Calendar) firstCalendar.clone();
-        setMidnight(firstDay);
-        firstDay.set(Calendar.DAY_OF_MONTH, 1);
-        Calendar secondDay = (Calendar) secondCalendar.clone();
-        setMidnight(secondDay);
-        secondDay.set(Calendar.DAY_OF_MONTH, 1);
-
-        return secondDay.before(firstDay);
+        return firstCalendar != null && getYearMonth(secondCalendar) < getYearMonth(firstCalendar);
     }
 
     /**
@@ -72,28 +61,27 @@ public class DateUtils {
      * @return Boolean value if second calendar is after the first one
      */
     public static boolean isMonthAfter(Calendar firstCalendar, Calendar secondCalendar) {
-        if (firstCalendar == null) {
-            return false;
-        }
-
-        Calendar firstDay = (Calendar) firstCalendar.clone();
-        setMidnight(firstDay);
-        firstDay.set(Calendar.DAY_OF_MONTH, 1);
-        Calendar secondDay = (Calendar) secondCalendar.clone();
-        setMidnight(secondDay);
-        secondDay.set(Calendar.DAY_OF_MONTH, 1);
-
-        return secondDay.after(firstDay);
+        return firstCalendar != null && getYearMonth(secondCalendar) > getYearMonth(firstCalendar);
     }
 
     /**
-     * This method returns true if given date is equals to today, otherwise false
+     * This method returns true if given date is equals to today, otherwise false.
+     * Only the date fields are compared, so an hour of the calendar doesn't matter.
+     * It creates a calendar of today on each call, so code checking many days should
+     * compare epoch days with {@link #getToday()} computed once.
      *
      * @param day A day object to compare
      * @return Boolean value if given date is equals to today
      */
     public static boolean isToday(Calendar day) {
-        return isDateEquals(getCalendar(), day);
+        return getEpochDay(day) == getToday();
+    }
+
+    /**
+     * @return Epoch day of today in the default time zone
+     */
+    public static int getToday() {
+        return getEpochDay(Calendar.getInstance());
     }
 
     /**
@@ -107,6 +95,95 @@ public class DateUtils {
         return firstCalendar.getTime().equals(secondCalendar.getTime());
     }
 
+    /**
+     * This method returns a number of days since 1970-01-01 of the date in given calendar.
+     * It uses only the date fields, so an hour and a time zone of the calendar don't matter.
+     *
+     * @param calendar Calendar object which date will be converted
+     * @return Epoch day of the date
+     */
+    public static int getEpochDay(Calendar calendar) {
+        return getEpochDay(calendar.get(Calendar.YEAR),
+                calendar.get(Calendar.MONTH),
+                calendar.get(Calendar.DAY_OF_MONTH));
+    }
+
+    /**
+     * This method returns a number of days since 1970-01-01 of given date in the proleptic
+     * Gregorian calendar. It doesn't allocate any objects.
+     *
+     * @param year       A year of the date
+     * @param month      A month of the date, counted from 0 like {@link Calendar#MONTH}
+     * @param dayOfMonth A day of month of the date
+     * @return Epoch day of the date
+     */
+    public static int getEpochDay(int year, int month, int dayOfMonth) {
+        // Years start in March, so a leap day is the last day of a year
+        int monthFromMarch = month > 1 ? month - 2 : month + 10;
+        int shiftedYear = month > 1 ? year : year - 1;
+
+        int era = (shiftedYear >= 0 ? shiftedYear : shiftedYear - 399) / 400;
+        int yearOfEra = shiftedYear - era * 400;
+        int dayOfYear = (153 * monthFromMarch + 2) / 5 + dayOfMonth - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * @param epochDay A number of days since 1970-01-01
+     * @return A day of the week of given day, i.e. {@link Calendar#MONDAY}
+     */
+    public static int getDayOfWeek(int epochDay) {
+        // 1970-01-01 was Thursday
+        return ((epochDay + 4) % 7 + 7) % 7 + Calendar.SUNDAY;
+    }
+
+    /**
+     * This method returns an instance of the Calendar object with hour set to 00:00:00:00
+     * and date set to given epoch day
+     *
+     * @param epochDay A number of days since 1970-01-01
+     * @return Calendar object representing given day
+     */
+    public static Calendar getCalendar(int epochDay) {
+        int yearMonth = getYearMonth(epochDay);
+        int year = yearMonth / 12;
+        int month = yearMonth % 12;
+
+        Calendar calendar = getCalendar();
+        calendar.set(year, month, epochDay - getEpochDay(year, month, 1) + 1);
+
+        return calendar;
+    }
+
+    /**
+     * @param calendar Calendar object which month will be converted
+     * @return A number of months since year 0 (year * 12 + month) of the date in given calendar
+     */
+    public static int getYearMonth(Calendar calendar) {
+        return calendar.get(Calendar.YEAR) * 12 + calendar.get(Calendar.MONTH);
+    }
+
+    /**
+     * @param epochDay A day in epoch days
+     * @return A number of months since year 0 (year * 12 + month) of given day
+     */
+    public static int getYearMonth(int epochDay) {
+        // Shifts days to eras starting in March 0000, so a leap day is the last day of a year
+        int shiftedDay = epochDay + 719468;
+        int era = (shiftedDay >= 0 ? shiftedDay : shiftedDay - 146096) / 146097;
+        int dayOfEra = shiftedDay - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int monthFromMarch = (5 * dayOfYear + 2) / 153;
+
+        int month = monthFromMarch < 10 ? monthFromMarch + 2 : monthFromMarch - 10;
+        int year = yearOfEra + era * 400 + (month < 2 ? 1 : 0);
+
+        return year * 12 + month;
+    }
+
     /**
      * This method returns a string containing a month's name and a year (in number).
      * It's used instead of new SimpleDateFormat("MMMM yyyy", Locale.getDefault()).format([Date]);
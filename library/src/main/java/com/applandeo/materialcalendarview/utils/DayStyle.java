@@ -0,0 +1,144 @@
+package com.applandeo.materialcalendarview.utils;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.StyleRes;
+import android.support.v4.content.ContextCompat;
+import android.util.TypedValue;
+import android.widget.TextView;
+
+import com.applandeo.materialcalendarview.R;
+
+/**
+ * This class keeps a text appearance and a background of day labels resolved once, so binding
+ * a day only applies cached values instead of reading a style and inflating a drawable.
+ * Label backgrounds are created from a shared {@link Drawable.ConstantState}.
+ */
+public final class DayStyle {
+
+    // Attributes have to be sorted the same as their values in android.R.attr
+    private static final int[] TEXT_ATTRIBUTES = {
+            android.R.attr.textSize,
+            android.R.attr.textStyle,
+            android.R.attr.textColor,
+            android.R.attr.fontFamily
+    };
+
+    private static final int TEXT_SIZE = 0;
+    private static final int TEXT_STYLE = 1;
+    private static final int TEXT_COLOR = 2;
+    private static final int FONT_FAMILY = 3;
+
+    private static final int DEFAULT_TEXT_SIZE_SP = 14;
+    private static final int DEFAULT_TEXT_COLOR = 0xFF000000;
+
+    private final int mTextAppearance;
+    private final int mBackgroundRes;
+
+    private final float mTextSize;
+    private final ColorStateList mTextColor;
+    private final Typeface mTypeface;
+
+    private final Drawable mBackground;
+    private final Drawable.ConstantState mBackgroundState;
+
+    /**
+     * @param context        The context used to resolve resources
+     * @param textAppearance Text appearance of a day label
+     * @param background     Background resource of a day label, 0 if a label has no background
+     */
+    public DayStyle(Context context, @StyleRes int textAppearance, @DrawableRes int background) {
+        mTextAppearance = textAppearance;
+        mBackgroundRes = background;
+
+        Resources resources = context.getResources();
+        float defaultTextSize = DEFAULT_TEXT_SIZE_SP * resources.getDisplayMetrics().scaledDensity;
+
+        TypedArray typedArray = context.obtainStyledAttributes(textAppearance, TEXT_ATTRIBUTES);
+
+        try {
+            mTextSize = typedArray.getDimension(TEXT_SIZE, defaultTextSize);
+
+            ColorStateList textColor = typedArray.getColorStateList(TEXT_COLOR);
+            mTextColor = textColor == null ? ColorStateList.valueOf(DEFAULT_TEXT_COLOR) : textColor;
+
+            int textStyle = typedArray.getInt(TEXT_STYLE, Typeface.NORMAL);
+            String fontFamily = typedArray.getString(FONT_FAMILY);
+
+            mTypeface = fontFamily == null
+                    ? Typeface.defaultFromStyle(textStyle)
+                    : Typeface.create(fontFamily, textStyle);
+        } finally {
+            typedArray.recycle();
+        }
+
+        mBackground = background == 0 ? null : ContextCompat.getDrawable(context, background);
+        mBackgroundState = mBackground == null ? null : mBackground.getConstantState();
+    }
+
+    /**
+     * @return Boolean value if the style was resolved from given resources
+     */
+    public boolean matches(@StyleRes int textAppearance, @DrawableRes int background) {
+        return mTextAppearance == textAppearance && mBackgroundRes == background;
+    }
+
+    /**
+     * This method sets the text appearance and a new background sharing the constant state.
+     * The style is remembered by the label, so applying it again when a cell is rebound doesn't
+     * create a background or change the label.
+     *
+     * @param textView A day label
+     */
+    public void applyTo(TextView textView) {
+        if (textView.getTag(R.id.dayStyle) == this) {
+            return;
+        }
+
+        textView.setTag(R.id.dayStyle, this);
+        textView.setTextColor(mTextColor);
+        textView.setTextSize(TypedValue.COMPLEX_UNIT_PX, mTextSize);
+        textView.setTypeface(mTypeface);
+
+        textView.setBackground(newBackground(textView.getContext()));
+    }
+
+    private Drawable newBackground(Context context) {
+        if (mBackgroundState != null) {
+            return mBackgroundState.newDrawable(context.getResources());
+        }
+
+        return mBackgroundRes == 0 ? null : ContextCompat.getDrawable(context, mBackgroundRes);
+    }
+
+    /**
+     * @return Text size in pixels
+     */
+    public float getTextSize() {
+        return mTextSize;
+    }
+
+    /**
+     * @return Default color of the text
+     */
+    public int getTextColor() {
+        return mTextColor.getDefaultColor();
+    }
+
+    public Typeface getTypeface() {
+        return mTypeface;
+    }
+
+    /**
+     * @return Background drawable shared by all canvas pages, it's not attached to any view
+     * or null if a label has no background
+     */
+    public Drawable getBackground() {
+        return mBackground;
+    }
+}
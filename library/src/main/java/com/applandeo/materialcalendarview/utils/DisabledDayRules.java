@@ -0,0 +1,95 @@
+package com.applandeo.materialcalendarview.utils;
+
+import com.applandeo.materialcalendarview.model.DisabledDayRule;
+
+import java.util.Calendar;
+
+/**
+ * This class creates common {@link DisabledDayRule} objects. Except {@link #matching(CalendarPredicate)},
+ * rules only compare numbers and don't create any objects.
+ */
+public final class DisabledDayRules {
+
+    /**
+     * A condition of a day given as a Calendar object, used by {@link #matching(CalendarPredicate)}
+     */
+    public interface CalendarPredicate {
+        /**
+         * @param day Calendar object representing an evaluated day
+         * @return Boolean value if the day is disabled
+         */
+        boolean test(Calendar day);
+    }
+
+    private DisabledDayRules() {
+    }
+
+    /**
+     * @param daysOfWeek Disabled days of the week, i.e. {@link Calendar#SATURDAY}, {@link Calendar#SUNDAY}
+     * @return Rule disabling every given day of the week
+     */
+    public static DisabledDayRule daysOfWeek(int... daysOfWeek) {
+        int mask = 0;
+
+        for (int dayOfWeek : daysOfWeek) {
+            mask |= 1 << dayOfWeek;
+        }
+
+        int daysOfWeekMask = mask;
+        return epochDay -> (daysOfWeekMask & (1 << DateUtils.getDayOfWeek(epochDay))) != 0;
+    }
+
+    /**
+     * @param firstDay Calendar object representing the first disabled day
+     * @param lastDay  Calendar object representing the last disabled day
+     * @return Rule disabling all days between given days (inclusive)
+     */
+    public static DisabledDayRule range(Calendar firstDay, Calendar lastDay) {
+        int first = DateUtils.getEpochDay(firstDay);
+        int last = DateUtils.getEpochDay(lastDay);
+        return epochDay -> epochDay >= first && epochDay <= last;
+    }
+
+    /**
+     * @param day Calendar object representing the first enabled day
+     * @return Rule disabling all days before given day
+     */
+    public static DisabledDayRule before(Calendar day) {
+        int first = DateUtils.getEpochDay(day);
+        return epochDay -> epochDay < first;
+    }
+
+    /**
+     * @param day Calendar object representing the last enabled day
+     * @return Rule disabling all days after given day
+     */
+    public static DisabledDayRule after(Calendar day) {
+        int last = DateUtils.getEpochDay(day);
+        return epochDay -> epochDay > last;
+    }
+
+    /**
+     * @param month      A month counted from 0 like {@link Calendar#MONTH}
+     * @param dayOfMonth A day of month
+     * @return Rule disabling given day every year, i.e. a public holiday
+     */
+    public static DisabledDayRule yearly(int month, int dayOfMonth) {
+        return epochDay -> {
+            int yearMonth = DateUtils.getYearMonth(epochDay);
+
+            return yearMonth % 12 == month
+                    && epochDay == DateUtils.getEpochDay(yearMonth / 12, month, dayOfMonth);
+        };
+    }
+
+    /**
+     * This method wraps a predicate of Calendar objects. A Calendar object is created for every
+     * evaluated day, but every day is evaluated only once while the rule is set.
+     *
+     * @param predicate Predicate returning true for disabled days
+     * @return Rule disabling days matching the predicate
+     */
+    public static DisabledDayRule matching(CalendarPredicate predicate) {
+        return epochDay -> predicate.test(DateUtils.getCalendar(epochDay));
+    }
+}
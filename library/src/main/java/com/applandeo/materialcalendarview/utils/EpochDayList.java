@@ -0,0 +1,42 @@
+package com.applandeo.materialcalendarview.utils;
+
+import java.util.AbstractList;
+import java.util.Calendar;
+import java.util.RandomAccess;
+
+/**
+ * This class is a read-only list of Calendar objects backed by an array of epoch days.
+ * A Calendar object is created only when its element is accessed, so the list can be passed
+ * around without creating an object for every day.
+ */
+public final class EpochDayList extends AbstractList<Calendar> implements RandomAccess {
+
+    private final int[] mEpochDays;
+
+    /**
+     * @param epochDays Array of epoch days, it isn't copied
+     */
+    public EpochDayList(int[] epochDays) {
+        mEpochDays = epochDays;
+    }
+
+    /**
+     * @return A new Calendar object representing the day at given position
+     */
+    @Override
+    public Calendar get(int index) {
+        return DateUtils.getCalendar(mEpochDays[index]);
+    }
+
+    /**
+     * @return Epoch day at given position, without creating a Calendar object
+     */
+    public int getEpochDay(int index) {
+        return mEpochDays[index];
+    }
+
+    @Override
+    public int size() {
+        return mEpochDays.length;
+    }
+}
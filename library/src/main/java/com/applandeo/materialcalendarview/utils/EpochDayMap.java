@@ -0,0 +1,140 @@
+package com.applandeo.materialcalendarview.utils;
+
+import java.util.Arrays;
+
+/**
+ * This class is a hash map using primitive epoch days (see {@link DateUtils#getEpochDay(java.util.Calendar)})
+ * as keys. It uses open addressing, so {@link #get(int)} doesn't allocate any objects.
+ */
+public final class EpochDayMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] mKeys;
+    private Object[] mValues;
+    private int mSize;
+    private int mMask;
+
+    public EpochDayMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize A number of entries which can be put without rehashing
+     */
+    public EpochDayMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+
+        allocate(capacity);
+    }
+
+    /**
+     * @param epochDay Key of the entry
+     * @return Value of the entry or null if the map doesn't contain given key
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int epochDay) {
+        int index = hash(epochDay) & mMask;
+
+        while (mValues[index] != null) {
+            if (mKeys[index] == epochDay) {
+                return (V) mValues[index];
+            }
+
+            index = (index + 1) & mMask;
+        }
+
+        return null;
+    }
+
+    public boolean containsKey(int epochDay) {
+        return get(epochDay) != null;
+    }
+
+    /**
+     * @param epochDay Key of the entry
+     * @param value    Value of the entry, it can't be null
+     */
+    public void put(int epochDay, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value can't be null");
+        }
+
+        int index = hash(epochDay) & mMask;
+
+        while (mValues[index] != null) {
+            if (mKeys[index] == epochDay) {
+                mValues[index] = value;
+                return;
+            }
+
+            index = (index + 1) & mMask;
+        }
+
+        mKeys[index] = epochDay;
+        mValues[index] = value;
+
+        if (++mSize > mKeys.length * 3 / 4) {
+            rehash(mKeys.length << 1);
+        }
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * @return A new set containing all keys of the map
+     */
+    public EpochDaySet keySet() {
+        EpochDaySet keys = new EpochDaySet();
+
+        for (int i = 0; i < mKeys.length; i++) {
+            if (mValues[i] != null) {
+                keys.add(mKeys[i]);
+            }
+        }
+
+        return keys;
+    }
+
+    public void clear() {
+        Arrays.fill(mValues, null);
+        mSize = 0;
+    }
+
+    private void allocate(int capacity) {
+        mKeys = new int[capacity];
+        mValues = new Object[capacity];
+        mMask = capacity - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rehash(int capacity) {
+        int[] oldKeys = mKeys;
+        Object[] oldValues = mValues;
+
+        allocate(capacity);
+        mSize = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                put(oldKeys[i], (V) oldValues[i]);
+            }
+        }
+    }
+
+    // Consecutive days are very common keys, so they are spread over the table
+    private static int hash(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
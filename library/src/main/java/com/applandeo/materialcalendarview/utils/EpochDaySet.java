@@ -0,0 +1,392 @@
+package com.applandeo.materialcalendarview.utils;
+
+import java.util.Arrays;
+
+/**
+ * This class is a compact set of days stored as a bitset keyed by epoch day
+ * (see {@link DateUtils#getEpochDay(java.util.Calendar)}). Every day takes one bit, so a year
+ * takes less than 50 bytes, and checking a day is a single array access.
+ * <p>
+ * The bitset grows in both directions, so it covers only days between the first and the last
+ * day which have been ever added.
+ */
+public final class EpochDaySet {
+
+    /**
+     * Value returned by methods searching for a day when there is no such day
+     */
+    public static final int NONE = Integer.MIN_VALUE;
+
+    private static final long[] EMPTY_WORDS = {};
+
+    private long[] mWords = EMPTY_WORDS;
+    private int mFirstWord;
+
+    public EpochDaySet() {
+    }
+
+    public EpochDaySet(EpochDaySet other) {
+        mWords = other.mWords.clone();
+        mFirstWord = other.mFirstWord;
+    }
+
+    public boolean contains(int epochDay) {
+        int index = (epochDay >> 6) - mFirstWord;
+        return index >= 0 && index < mWords.length && (mWords[index] & (1L << epochDay)) != 0;
+    }
+
+    public void add(int epochDay) {
+        ensureCapacity(epochDay >> 6, epochDay >> 6);
+        mWords[(epochDay >> 6) - mFirstWord] |= 1L << epochDay;
+    }
+
+    /**
+     * Adds all days between given days, both days are inclusive and can be passed in any order
+     */
+    public void addRange(int firstDay, int lastDay) {
+        if (lastDay < firstDay) {
+            addRange(lastDay, firstDay);
+            return;
+        }
+
+        ensureCapacity(firstDay >> 6, lastDay >> 6);
+        setRange(firstDay, lastDay, true);
+    }
+
+    public void remove(int epochDay) {
+        int index = (epochDay >> 6) - mFirstWord;
+
+        if (index >= 0 && index < mWords.length) {
+            mWords[index] &= ~(1L << epochDay);
+        }
+    }
+
+    /**
+     * Removes all days between given days, both days are inclusive and can be passed in any order
+     */
+    public void removeRange(int firstDay, int lastDay) {
+        if (lastDay < firstDay) {
+            removeRange(lastDay, firstDay);
+            return;
+        }
+
+        if (mWords.length == 0) {
+            return;
+        }
+
+        int minDay = mFirstWord << 6;
+        int maxDay = ((mFirstWord + mWords.length) << 6) - 1;
+
+        if (lastDay < minDay || firstDay > maxDay) {
+            return;
+        }
+
+        setRange(Math.max(firstDay, minDay), Math.min(lastDay, maxDay), false);
+    }
+
+    /**
+     * Adds all given days, the array is scanned twice, so the set grows only once
+     *
+     * @param epochDays Array of epoch days in any order
+     */
+    public void addAll(int[] epochDays) {
+        if (epochDays.length == 0) {
+            return;
+        }
+
+        int firstDay = epochDays[0];
+        int lastDay = epochDays[0];
+
+        for (int epochDay : epochDays) {
+            firstDay = Math.min(firstDay, epochDay);
+            lastDay = Math.max(lastDay, epochDay);
+        }
+
+        ensureCapacity(firstDay >> 6, lastDay >> 6);
+
+        for (int epochDay : epochDays) {
+            mWords[(epochDay >> 6) - mFirstWord] |= 1L << epochDay;
+        }
+    }
+
+    /**
+     * Adds all days of given intervals, see {@link #toIntervals()}
+     *
+     * @param intervals Array of pairs of the first and the last day of every interval
+     */
+    public void addIntervals(int[] intervals) {
+        if (intervals.length % 2 != 0) {
+            throw new IllegalArgumentException("Intervals have to be pairs of days");
+        }
+
+        for (int i = 0; i < intervals.length; i += 2) {
+            addRange(intervals[i], intervals[i + 1]);
+        }
+    }
+
+    public void addAll(EpochDaySet other) {
+        if (other.mWords.length == 0) {
+            return;
+        }
+
+        ensureCapacity(other.mFirstWord, other.mFirstWord + other.mWords.length - 1);
+
+        int offset = other.mFirstWord - mFirstWord;
+        for (int i = 0; i < other.mWords.length; i++) {
+            mWords[i + offset] |= other.mWords[i];
+        }
+    }
+
+    public void removeAll(EpochDaySet other) {
+        for (int i = 0; i < mWords.length; i++) {
+            int otherIndex = i + mFirstWord - other.mFirstWord;
+
+            if (otherIndex >= 0 && otherIndex < other.mWords.length) {
+                mWords[i] &= ~other.mWords[otherIndex];
+            }
+        }
+    }
+
+    public void clear() {
+        mWords = EMPTY_WORDS;
+        mFirstWord = 0;
+    }
+
+    public boolean isEmpty() {
+        for (long word : mWords) {
+            if (word != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return A number of days in the set
+     */
+    public int size() {
+        int size = 0;
+
+        for (long word : mWords) {
+            size += Long.bitCount(word);
+        }
+
+        return size;
+    }
+
+    /**
+     * @param epochDay A day from which searching starts
+     * @return The first day in the set which is equal or after given day or {@link #NONE}
+     */
+    public int nextDay(int epochDay) {
+        if (mWords.length == 0) {
+            return NONE;
+        }
+
+        int index = (epochDay >> 6) - mFirstWord;
+
+        if (index >= mWords.length) {
+            return NONE;
+        }
+
+        long word;
+        if (index < 0) {
+            index = 0;
+            word = mWords[0];
+        } else {
+            word = mWords[index] & (-1L << epochDay);
+        }
+
+        while (true) {
+            if (word != 0) {
+                return ((index + mFirstWord) << 6) + Long.numberOfTrailingZeros(word);
+            }
+
+            if (++index == mWords.length) {
+                return NONE;
+            }
+
+            word = mWords[index];
+        }
+    }
+
+    /**
+     * @param epochDay A day from which searching starts
+     * @return The first day which is not in the set and is equal or after given day
+     */
+    public int nextMissingDay(int epochDay) {
+        int index = (epochDay >> 6) - mFirstWord;
+
+        if (index < 0 || index >= mWords.length) {
+            return epochDay;
+        }
+
+        long word = ~mWords[index] & (-1L << epochDay);
+
+        while (word == 0) {
+            if (++index == mWords.length) {
+                return (index + mFirstWord) << 6;
+            }
+
+            word = ~mWords[index];
+        }
+
+        return ((index + mFirstWord) << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * @return The first day in the set or {@link #NONE} if the set is empty
+     */
+    public int firstDay() {
+        return mWords.length == 0 ? NONE : nextDay(mFirstWord << 6);
+    }
+
+    /**
+     * @return The last day in the set or {@link #NONE} if the set is empty
+     */
+    public int lastDay() {
+        for (int i = mWords.length - 1; i >= 0; i--) {
+            if (mWords[i] != 0) {
+                return ((i + mFirstWord) << 6) + 63 - Long.numberOfLeadingZeros(mWords[i]);
+            }
+        }
+
+        return NONE;
+    }
+
+    /**
+     * @return Sorted array of all days in the set
+     */
+    public int[] toArray() {
+        int[] days = new int[size()];
+        int position = 0;
+
+        for (int day = firstDay(); day != NONE; day = nextDay(day + 1)) {
+            days[position++] = day;
+        }
+
+        return days;
+    }
+
+    /**
+     * This method encodes the set as runs of consecutive days, so long periods take two values
+     *
+     * @return Sorted array of pairs of the first and the last day of every run of days in the set
+     */
+    public int[] toIntervals() {
+        int count = 0;
+
+        for (int day = firstDay(); day != NONE; day = nextDay(nextMissingDay(day))) {
+            count++;
+        }
+
+        int[] intervals = new int[count * 2];
+        int position = 0;
+
+        for (int day = firstDay(); day != NONE; day = nextDay(intervals[position - 1] + 1)) {
+            intervals[position++] = day;
+            intervals[position++] = nextMissingDay(day) - 1;
+        }
+
+        return intervals;
+    }
+
+    /**
+     * @return Boolean value if days in the set are consecutive, an empty set is a range too
+     */
+    public boolean isRange() {
+        int firstDay = firstDay();
+        return firstDay == NONE || nextDay(nextMissingDay(firstDay)) == NONE;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof EpochDaySet)) {
+            return false;
+        }
+
+        EpochDaySet other = (EpochDaySet) obj;
+        int firstWord = Math.min(mFirstWord, other.mFirstWord);
+        int lastWord = Math.max(mFirstWord + mWords.length, other.mFirstWord + other.mWords.length);
+
+        for (int word = firstWord; word < lastWord; word++) {
+            if (getWord(word) != other.getWord(word)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+
+        for (int i = 0; i < mWords.length; i++) {
+            long word = mWords[i];
+            hashCode += (int) (word ^ (word >>> 32)) * (i + mFirstWord);
+        }
+
+        return hashCode;
+    }
+
+    private long getWord(int word) {
+        int index = word - mFirstWord;
+        return index >= 0 && index < mWords.length ? mWords[index] : 0;
+    }
+
+    private void setRange(int firstDay, int lastDay, boolean value) {
+        int firstIndex = (firstDay >> 6) - mFirstWord;
+        int lastIndex = (lastDay >> 6) - mFirstWord;
+
+        long firstMask = -1L << firstDay;
+        long lastMask = -1L >>> (63 - (lastDay & 63));
+
+        if (firstIndex == lastIndex) {
+            setWord(firstIndex, firstMask & lastMask, value);
+            return;
+        }
+
+        setWord(firstIndex, firstMask, value);
+
+        if (lastIndex - firstIndex > 1) {
+            Arrays.fill(mWords, firstIndex + 1, lastIndex, value ? -1L : 0L);
+        }
+
+        setWord(lastIndex, lastMask, value);
+    }
+
+    private void setWord(int index, long mask, boolean value) {
+        if (value) {
+            mWords[index] |= mask;
+        } else {
+            mWords[index] &= ~mask;
+        }
+    }
+
+    private void ensureCapacity(int firstWord, int lastWord) {
+        if (mWords.length == 0) {
+            mFirstWord = firstWord;
+            mWords = new long[lastWord - firstWord + 1];
+            return;
+        }
+
+        int currentLastWord = mFirstWord + mWords.length - 1;
+
+        if (firstWord >= mFirstWord && lastWord <= currentLastWord) {
+            return;
+        }
+
+        // Grows with some spare space, so adding consecutive days doesn't copy the array every time
+        int spare = mWords.length / 2;
+        int newFirstWord = firstWord < mFirstWord ? firstWord - spare : mFirstWord;
+        int newLastWord = lastWord > currentLastWord ? lastWord + spare : currentLastWord;
+
+        long[] words = new long[newLastWord - newFirstWord + 1];
+        System.arraycopy(mWords, 0, words, mFirstWord - newFirstWord, mWords.length);
+
+        mWords = words;
+        mFirstWord = newFirstWord;
+    }
+}
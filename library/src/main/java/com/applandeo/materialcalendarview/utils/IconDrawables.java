@@ -0,0 +1,49 @@
+package com.applandeo.materialcalendarview.utils;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class keeps drawables of event images drawn by one page. A drawable is created once
+ * for every image from a constant state cached by {@link ImageUtils}, so binding cells doesn't
+ * create drawables and the page can change bounds and alpha of its drawables while drawing.
+ */
+public class IconDrawables {
+
+    private final Context mContext;
+    private final int mWidth;
+    private final int mHeight;
+    private final PerformanceTracer mPerformanceTracer;
+
+    private final Map<Object, Drawable> mDrawables = new HashMap<>();
+
+    /**
+     * @param width             Width of an area where images are drawn in pixels
+     * @param height            Height of an area where images are drawn in pixels
+     * @param performanceTracer Tracer receiving accesses of the drawables cache, it can be null
+     */
+    public IconDrawables(Context context, int width, int height, PerformanceTracer performanceTracer) {
+        mContext = context;
+        mWidth = width;
+        mHeight = height;
+        mPerformanceTracer = performanceTracer;
+    }
+
+    /**
+     * @param image Drawable object or drawable resource ID
+     * @return Drawable object of given image owned by this object or null if the image isn't supported
+     */
+    public Drawable get(Object image) {
+        Drawable drawable = mDrawables.get(image);
+
+        if (drawable == null && !mDrawables.containsKey(image)) {
+            drawable = ImageUtils.getDrawable(mContext, image, mWidth, mHeight, mPerformanceTracer);
+            mDrawables.put(image, drawable);
+        }
+
+        return drawable;
+    }
+}
@@ -1,35 +1,207 @@
 package com.applandeo.materialcalendarview.utils;
 
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 import android.support.v4.content.ContextCompat;
-import android.widget.ImageView;
+import android.util.LruCache;
+
+import com.applandeo.materialcalendarview.listeners.CalendarPerformanceListener;
 
 /**
  * This class is used to load event image in a day cell
  * <p>
+ * Drawables loaded from resources are cached by a resource ID and a target size, so the same
+ * image isn't inflated again for every cell. Only constant states are cached, every caller
+ * gets its own drawable. The cache is cleared when the system asks the application to trim memory.
+ * <p>
  * Created by Mateusz Kornakiewicz on 23.05.2017.
  */
 public class ImageUtils {
 
+    // Enough for all event types of a typical calendar in two sizes
+    private static final int DRAWABLES_CACHE_SIZE = 64;
+
+    private static final LruCache<Long, CachedDrawable> sDrawables = new LruCache<>(DRAWABLES_CACHE_SIZE);
+
+    // Images are also preloaded on a background thread
+    private static volatile boolean sVectorRasterizationEnabled;
+    private static boolean sTrimMemoryCallbacksRegistered;
+
     private ImageUtils() {
     }
 
-    public static void loadImage(ImageView imageView, Object image) {
-        if (image == null) {
-            return;
+    /**
+     * This method returns a new drawable sharing a cached constant state, so a caller can change
+     * its bounds and alpha. Callers drawing the image in many cells should keep the drawable,
+     * see {@link IconDrawables}. Images are loaded with the application context, so cached
+     * states don't keep an activity.
+     *
+     * @param context           The context
+     * @param image             Drawable object or drawable resource ID
+     * @param width             Width of an area where the image is drawn in pixels, used when vectors are rasterized
+     * @param height            Height of an area where the image is drawn in pixels, used when vectors are rasterized
+     * @param performanceTracer Tracer receiving accesses of the drawables cache, it can be null
+     * @return Drawable object of given image or null if the image isn't supported
+     */
+    public static Drawable getDrawable(Context context, Object image, int width, int height,
+                                       PerformanceTracer performanceTracer) {
+        if (image instanceof Drawable) {
+            return (Drawable) image;
         }
 
-        Drawable drawable = null;
-        if (image instanceof Drawable) {
-            drawable = (Drawable) image;
-        } else if (image instanceof Integer) {
-            drawable = ContextCompat.getDrawable(imageView.getContext(), (Integer) image);
+        if (image instanceof Integer) {
+            Context applicationContext = context.getApplicationContext();
+            CachedDrawable cachedDrawable = getCachedDrawable(applicationContext, (Integer) image, width, height,
+                    performanceTracer);
+            return cachedDrawable == null ? null : cachedDrawable.newDrawable(applicationContext.getResources());
         }
 
+        return null;
+    }
+
+    /**
+     * This method loads a constant state of a drawable resource to the cache without creating
+     * a drawable for a caller. Only the cache is shared, so it can be called on any thread.
+     *
+     * @param context The context
+     * @param image   Drawable object or drawable resource ID, Drawable objects are ignored
+     * @param width   Width of an area where the image will be drawn in pixels
+     * @param height  Height of an area where the image will be drawn in pixels
+     */
+    public static void preloadDrawable(Context context, Object image, int width, int height) {
+        if (image instanceof Integer) {
+            getCachedDrawable(context.getApplicationContext(), (Integer) image, width, height, null);
+        }
+    }
+
+    /**
+     * This method enables drawing vector and other non-bitmap images once to bitmaps of a cell size.
+     * Drawing a bitmap is cheaper than drawing a vector path, but bitmaps use more memory.
+     *
+     * @param vectorRasterizationEnabled Boolean value if images should be rasterized
+     */
+    public static void setVectorRasterizationEnabled(boolean vectorRasterizationEnabled) {
+        if (sVectorRasterizationEnabled != vectorRasterizationEnabled) {
+            sVectorRasterizationEnabled = vectorRasterizationEnabled;
+            sDrawables.evictAll();
+        }
+    }
+
+    /**
+     * This method removes all cached drawables
+     */
+    public static void clearCache() {
+        sDrawables.evictAll();
+    }
+
+    private static CachedDrawable getCachedDrawable(Context context, int resId, int width, int height,
+                                                    PerformanceTracer performanceTracer) {
+        registerTrimMemoryCallbacks(context);
+
+        // Size matters only if images are rasterized
+        if (!sVectorRasterizationEnabled) {
+            width = height = 0;
+        }
+
+        Long key = ((long) resId << 32) | ((width & 0xFFFFL) << 16) | (height & 0xFFFFL);
+        CachedDrawable cachedDrawable = sDrawables.get(key);
+
+        if (performanceTracer != null) {
+            performanceTracer.onCacheAccess(CalendarPerformanceListener.CACHE_DRAWABLES, cachedDrawable != null);
+        }
+
+        if (cachedDrawable != null) {
+            return cachedDrawable;
+        }
+
+        Drawable drawable = ContextCompat.getDrawable(context, resId);
+
         if (drawable == null) {
+            return null;
+        }
+
+        if (width > 0 && height > 0 && !(drawable instanceof BitmapDrawable)) {
+            drawable = rasterize(context.getResources(), drawable, width, height);
+        }
+
+        cachedDrawable = new CachedDrawable(drawable);
+
+        // Drawables without a constant state can't be shared, so they aren't cached
+        if (cachedDrawable.mConstantState != null) {
+            sDrawables.put(key, cachedDrawable);
+        }
+
+        return cachedDrawable;
+    }
+
+    // Draws the image to a bitmap scaled like in ImageView with centerInside scale type
+    private static Drawable rasterize(Resources resources, Drawable drawable, int width, int height) {
+        int intrinsicWidth = drawable.getIntrinsicWidth() > 0 ? drawable.getIntrinsicWidth() : width;
+        int intrinsicHeight = drawable.getIntrinsicHeight() > 0 ? drawable.getIntrinsicHeight() : height;
+
+        float scale = Math.min(1f, Math.min((float) width / intrinsicWidth, (float) height / intrinsicHeight));
+        int bitmapWidth = Math.max(1, Math.round(intrinsicWidth * scale));
+        int bitmapHeight = Math.max(1, Math.round(intrinsicHeight * scale));
+
+        Bitmap bitmap = Bitmap.createBitmap(bitmapWidth, bitmapHeight, Bitmap.Config.ARGB_8888);
+        drawable.setBounds(0, 0, bitmapWidth, bitmapHeight);
+        drawable.draw(new Canvas(bitmap));
+
+        return new BitmapDrawable(resources, bitmap);
+    }
+
+    private static synchronized void registerTrimMemoryCallbacks(Context context) {
+        if (sTrimMemoryCallbacksRegistered) {
             return;
         }
 
-        imageView.setImageDrawable(drawable);
+        context.registerComponentCallbacks(TRIM_MEMORY_CALLBACKS);
+        sTrimMemoryCallbacksRegistered = true;
+    }
+
+    private static final ComponentCallbacks2 TRIM_MEMORY_CALLBACKS = new ComponentCallbacks2() {
+        @Override
+        public void onTrimMemory(int level) {
+            // Cached drawables can be loaded again, so they are released when memory is running low
+            // or when the UI isn't visible anymore
+            if (level >= TRIM_MEMORY_RUNNING_LOW) {
+                sDrawables.evictAll();
+            }
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration configuration) {
+            // Resources can be different in a new configuration, i.e. night mode
+            sDrawables.evictAll();
+        }
+
+        @Override
+        public void onLowMemory() {
+            sDrawables.evictAll();
+        }
+    };
+
+    /**
+     * This class keeps a constant state used to create new drawables, a drawable without
+     * a constant state is kept only to be returned once
+     */
+    private static class CachedDrawable {
+        private final Drawable mDrawable;
+        private final Drawable.ConstantState mConstantState;
+
+        CachedDrawable(Drawable drawable) {
+            mDrawable = drawable;
+            mConstantState = drawable.getConstantState();
+        }
+
+        Drawable newDrawable(Resources resources) {
+            return mConstantState == null ? mDrawable : mConstantState.newDrawable(resources);
+        }
     }
 }
@@ -0,0 +1,82 @@
+package com.applandeo.materialcalendarview.utils;
+
+import java.util.Arrays;
+
+/**
+ * This class is a small least recently used cache using primitive months (see {@link DateUtils#getYearMonth(int)})
+ * as keys. Entries are kept ordered from the most recently used one, so looking up days of the same
+ * month one after another doesn't box keys or take a lock like {@link android.util.LruCache}.
+ * It isn't thread safe.
+ */
+public final class MonthCache<V> {
+
+    private final int[] mKeys;
+    private final Object[] mValues;
+    private int mSize;
+
+    /**
+     * @param maxSize A number of months kept in the cache
+     */
+    public MonthCache(int maxSize) {
+        mKeys = new int[maxSize];
+        mValues = new Object[maxSize];
+    }
+
+    /**
+     * @param yearMonth A month as a number of months since year zero
+     * @return Value of the month or null if the cache doesn't contain it
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int yearMonth) {
+        if (mSize > 0 && mKeys[0] == yearMonth) {
+            return (V) mValues[0];
+        }
+
+        for (int i = 1; i < mSize; i++) {
+            if (mKeys[i] == yearMonth) {
+                V value = (V) mValues[i];
+                moveToFront(i, yearMonth, value);
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * This method puts the month as the most recently used one, evicting the least recently
+     * used month when the cache is full
+     *
+     * @param yearMonth A month as a number of months since year zero
+     * @param value     Value of the month
+     */
+    public void put(int yearMonth, V value) {
+        int index = 0;
+
+        while (index < mSize && mKeys[index] != yearMonth) {
+            index++;
+        }
+
+        if (index == mSize) {
+            if (mSize < mKeys.length) {
+                mSize++;
+            } else {
+                index--;
+            }
+        }
+
+        moveToFront(index, yearMonth, value);
+    }
+
+    public void clear() {
+        Arrays.fill(mValues, 0, mSize, null);
+        mSize = 0;
+    }
+
+    private void moveToFront(int index, int yearMonth, Object value) {
+        System.arraycopy(mKeys, 0, mKeys, 1, index);
+        System.arraycopy(mValues, 0, mValues, 1, index);
+        mKeys[0] = yearMonth;
+        mValues[0] = value;
+    }
+}
@@ -0,0 +1,194 @@
+package com.applandeo.materialcalendarview.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.MainThread;
+import android.util.SparseBooleanArray;
+
+import com.applandeo.materialcalendarview.listeners.CalendarPerformanceListener;
+import com.applandeo.materialcalendarview.listeners.EventSource;
+import com.applandeo.materialcalendarview.model.EventDay;
+import com.applandeo.materialcalendarview.model.EventsSummary;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class loads events of months from {@link EventSource} on an executor and keeps
+ * them in a bounded cache. A month is requested the first time its day is looked up, and
+ * the listener is called when the month is loaded, so only days of that month are rebound.
+ * A month which fails to load is requested again the next time its day is looked up.
+ */
+public class MonthEventsLoader {
+
+    // Pages around the current one display at most five months
+    private static final int MONTHS_CACHE_SIZE = 12;
+
+    private final EventSource mEventSource;
+    private final Executor mExecutor;
+    private final OnMonthLoadedListener mOnMonthLoadedListener;
+    private final PerformanceTracer mPerformanceTracer;
+
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final MonthCache<EpochDayMap<EventsSummary>> mMonths = new MonthCache<>(MONTHS_CACHE_SIZE);
+    private final SparseBooleanArray mPendingMonths = new SparseBooleanArray();
+
+    private boolean mReleased;
+
+    public interface OnMonthLoadedListener {
+        /**
+         * @param firstDay Epoch day of the first day of the loaded month
+         * @param lastDay  Epoch day of the last day of the loaded month
+         */
+        void onMonthLoaded(int firstDay, int lastDay);
+    }
+
+    public MonthEventsLoader(EventSource eventSource, Executor executor,
+                             OnMonthLoadedListener onMonthLoadedListener) {
+        this(eventSource, executor, onMonthLoadedListener, new PerformanceTracer());
+    }
+
+    /**
+     * @param performanceTracer Tracer receiving accesses of the loaded months cache
+     */
+    public MonthEventsLoader(EventSource eventSource, Executor executor,
+                             OnMonthLoadedListener onMonthLoadedListener, PerformanceTracer performanceTracer) {
+        mEventSource = eventSource;
+        mExecutor = executor;
+        mOnMonthLoadedListener = onMonthLoadedListener;
+        mPerformanceTracer = performanceTracer;
+    }
+
+    /**
+     * This method returns events of given day if its month is loaded, otherwise it starts
+     * loading the month and returns null
+     *
+     * @param epochDay A day in epoch days
+     * @return Summary of events of given day or null if there is no event or the month isn't loaded yet
+     */
+    @MainThread
+    public EventsSummary getEventsSummary(int epochDay) {
+        int yearMonth = DateUtils.getYearMonth(epochDay);
+        EpochDayMap<EventsSummary> month = mMonths.get(yearMonth);
+        mPerformanceTracer.onCacheAccess(CalendarPerformanceListener.CACHE_EVENT_MONTHS, month != null);
+
+        if (month == null) {
+            loadMonth(yearMonth);
+            return null;
+        }
+
+        return month.get(epochDay);
+    }
+
+    /**
+     * This method starts loading a month before its page is displayed, it does nothing if
+     * the month is already loaded or loading
+     *
+     * @param yearMonth A month as a number of months since year zero
+     */
+    @MainThread
+    public void prefetchMonth(int yearMonth) {
+        if (mMonths.get(yearMonth) == null) {
+            loadMonth(yearMonth);
+        }
+    }
+
+    /**
+     * This method stops delivering months which are still loading and clears the cache
+     */
+    @MainThread
+    public void release() {
+        mReleased = true;
+        mMonths.clear();
+        mPendingMonths.clear();
+    }
+
+    private void loadMonth(int yearMonth) {
+        if (mReleased || mPendingMonths.get(yearMonth)) {
+            return;
+        }
+
+        mPendingMonths.put(yearMonth, true);
+
+        MonthCallback callback = new MonthCallback(yearMonth);
+        boolean dispatched = false;
+
+        try {
+            mExecutor.execute(callback);
+            dispatched = true;
+        } finally {
+            // A rejected month isn't left pending, so it can be requested again
+            if (!dispatched) {
+                mPendingMonths.delete(yearMonth);
+            }
+        }
+    }
+
+    private void onMonthLoaded(int yearMonth, EpochDayMap<EventsSummary> index) {
+        if (mReleased) {
+            return;
+        }
+
+        mPendingMonths.delete(yearMonth);
+        mMonths.put(yearMonth, index);
+
+        int year = yearMonth / 12;
+        int month = yearMonth % 12;
+
+        mOnMonthLoadedListener.onMonthLoaded(DateUtils.getEpochDay(year, month, 1),
+                DateUtils.getEpochDay(year, month + 1, 1) - 1);
+    }
+
+    private void onMonthFailed(int yearMonth) {
+        mPendingMonths.delete(yearMonth);
+    }
+
+    /**
+     * This class loads one month on the executor and delivers its result to the main thread once,
+     * either events or a failure, so the month never stays pending after the source is done with it
+     */
+    private class MonthCallback implements Runnable, EventSource.Callback {
+        private final int mYearMonth;
+        private final AtomicBoolean mDelivered = new AtomicBoolean();
+
+        MonthCallback(int yearMonth) {
+            mYearMonth = yearMonth;
+        }
+
+        @Override
+        public void run() {
+            try {
+                mEventSource.load(DateUtils.getCalendar(DateUtils.getEpochDay(mYearMonth / 12, mYearMonth % 12, 1)), this);
+            } catch (RuntimeException e) {
+                onError(e);
+            }
+        }
+
+        @Override
+        public void onLoaded(List<EventDay> eventDays) {
+            if (!mDelivered.compareAndSet(false, true)) {
+                return;
+            }
+
+            EpochDayMap<EventsSummary> index;
+
+            try {
+                // Events are indexed on the calling thread, not on the main thread
+                index = CalendarProperties.indexEventDays(eventDays);
+            } catch (RuntimeException e) {
+                mMainHandler.post(() -> onMonthFailed(mYearMonth));
+                throw e;
+            }
+
+            mMainHandler.post(() -> onMonthLoaded(mYearMonth, index));
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (mDelivered.compareAndSet(false, true)) {
+                mMainHandler.post(() -> onMonthFailed(mYearMonth));
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.applandeo.materialcalendarview.utils;
+
+import android.support.v4.os.TraceCompat;
+
+import com.applandeo.materialcalendarview.listeners.CalendarPerformanceListener;
+
+/**
+ * This class wraps sections of the calendar rendering in {@link android.os.Trace} markers
+ * and reports their durations and cache accesses to {@link CalendarPerformanceListener}.
+ * When no listener is set, the clock isn't read and only trace markers are written,
+ * which costs almost nothing while tracing is disabled.
+ */
+public final class PerformanceTracer {
+
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
+    // Indexed by SECTION_* constants of CalendarPerformanceListener
+    private static final String[] SECTION_NAMES = {
+            "MCV:pageInstantiate",
+            "MCV:monthModelBuild",
+            "MCV:cellBind",
+            "MCV:measure",
+            "MCV:eventLookup",
+            "MCV:selectionUpdate"
+    };
+
+    private CalendarPerformanceListener mListener;
+
+    public CalendarPerformanceListener getListener() {
+        return mListener;
+    }
+
+    public void setListener(CalendarPerformanceListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * This method starts a section, every call has to be followed by {@link #endSection(int, long)}
+     *
+     * @param section One of SECTION_* constants of {@link CalendarPerformanceListener}
+     * @return Start time of the section which has to be passed to {@link #endSection(int, long)}
+     */
+    public long beginSection(int section) {
+        TraceCompat.beginSection(SECTION_NAMES[section]);
+        return mListener == null ? NOT_TIMED : System.nanoTime();
+    }
+
+    /**
+     * @param section   One of SECTION_* constants of {@link CalendarPerformanceListener}
+     * @param startTime Value returned by {@link #beginSection(int)}
+     */
+    public void endSection(int section, long startTime) {
+        TraceCompat.endSection();
+
+        if (mListener != null && startTime != NOT_TIMED) {
+            mListener.onSection(section, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * @param cache One of CACHE_* constants of {@link CalendarPerformanceListener}
+     * @param hit   Boolean value if a value was found in the cache
+     */
+    public void onCacheAccess(int cache, boolean hit) {
+        if (mListener != null) {
+            mListener.onCacheAccess(cache, hit);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.applandeo.materialcalendarview.utils;
+
+import com.applandeo.materialcalendarview.listeners.CalendarPerformanceListener;
+import com.applandeo.materialcalendarview.model.EventDay;
+import com.applandeo.materialcalendarview.model.EventsSummary;
+import com.applandeo.materialcalendarview.model.RecurringEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class expands {@link RecurringEvent} objects into events of days. A month is expanded
+ * the first time its day is looked up and kept in a bounded cache, so only months displayed
+ * by the calendar have EventDay objects. Occurrences are merged with events set directly when
+ * a month is expanded, so looking up a day doesn't create summaries. A new instance has to be
+ * created when any events are changed.
+ */
+public class RecurringEventsExpander {
+
+    // Pages around the current one display at most five months
+    private static final int MONTHS_CACHE_SIZE = 12;
+
+    private final List<RecurringEvent> mRecurringEvents;
+    private final EpochDayMap<EventsSummary> mEventDaysIndex;
+    private final PerformanceTracer mPerformanceTracer;
+
+    private final MonthCache<EpochDayMap<EventsSummary>> mMonths = new MonthCache<>(MONTHS_CACHE_SIZE);
+
+    /**
+     * @param recurringEvents   List of events, it's copied
+     * @param eventDaysIndex    Summaries of events set directly, see {@link CalendarProperties#indexEventDays(List)}
+     * @param performanceTracer Tracer receiving accesses of the expanded months cache
+     */
+    public RecurringEventsExpander(List<RecurringEvent> recurringEvents, EpochDayMap<EventsSummary> eventDaysIndex,
+                                   PerformanceTracer performanceTracer) {
+        mRecurringEvents = new ArrayList<>(recurringEvents);
+        mEventDaysIndex = eventDaysIndex;
+        mPerformanceTracer = performanceTracer;
+    }
+
+    /**
+     * @param epochDay A day in epoch days
+     * @return Summary of occurrences and events set directly of given day or null if there is no occurrence
+     */
+    public EventsSummary getEventsSummary(int epochDay) {
+        int yearMonth = DateUtils.getYearMonth(epochDay);
+        EpochDayMap<EventsSummary> month = mMonths.get(yearMonth);
+        mPerformanceTracer.onCacheAccess(CalendarPerformanceListener.CACHE_RECURRING_EVENT_MONTHS, month != null);
+
+        if (month == null) {
+            month = expandMonth(yearMonth);
+            mMonths.put(yearMonth, month);
+        }
+
+        return month.get(epochDay);
+    }
+
+    private EpochDayMap<EventsSummary> expandMonth(int yearMonth) {
+        int year = yearMonth / 12;
+        int month = yearMonth % 12;
+
+        int firstDay = DateUtils.getEpochDay(year, month, 1);
+        int lastDay = DateUtils.getEpochDay(year, month + 1, 1) - 1;
+
+        List<EventDay> eventDays = new ArrayList<>();
+
+        for (RecurringEvent recurringEvent : mRecurringEvents) {
+            for (int epochDay : recurringEvent.getOccurrences(firstDay, lastDay)) {
+                eventDays.add(recurringEvent.createEventDay(epochDay));
+            }
+        }
+
+        EpochDayMap<EventsSummary> summaries = CalendarProperties.indexEventDays(eventDays);
+
+        if (mEventDaysIndex.isEmpty()) {
+            return summaries;
+        }
+
+        EpochDaySet days = summaries.keySet();
+
+        for (int epochDay = days.firstDay(); epochDay != EpochDaySet.NONE; epochDay = days.nextDay(epochDay + 1)) {
+            summaries.put(epochDay, EventsSummary.merge(mEventDaysIndex.get(epochDay), summaries.get(epochDay)));
+        }
+
+        return summaries;
+    }
+}
@@ -0,0 +1,251 @@
+package com.applandeo.materialcalendarview;
+
+import android.app.Activity;
+import android.support.v4.view.ViewPager;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.applandeo.materialcalendarview.model.EventDay;
+import com.applandeo.materialcalendarview.utils.DateUtils;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+import org.robolectric.Robolectric;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class measures rendering of CalendarView pages on the JVM: instantiating pages, binding
+ * 42 cells and measuring the pager. Every operation is repeated after a warm-up and its mean
+ * wall time, allocated bytes and a number of views in the calendar are written to
+ * build/reports/renderBenchmark.txt.
+ * <p>
+ * Run with ./gradlew :library:testDebugUnitTest --tests '*CalendarViewRenderBenchmark*'. Optional
+ * budgets fail the run if an operation is slower or allocates more:
+ * -PrenderBenchmark.maxMillis=<value> and -PrenderBenchmark.maxKilobytes=<value>
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CalendarViewRenderBenchmark {
+
+    private static final int WARM_UP_RUNS = 5;
+    private static final int MEASURED_RUNS = 20;
+
+    private static final int EVENTS_COUNT = 1000;
+    private static final int RANGE_LENGTH = 14;
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    private static final List<String> sResults = new ArrayList<>();
+
+    private final boolean mCanvasRenderingEnabled;
+
+    private Activity mActivity;
+    private CalendarView mCalendarView;
+    private ViewPager mViewPager;
+
+    private List<EventDay> mEvents, mShiftedEvents;
+    private List<Calendar> mRange, mShiftedRange;
+    private int mRun;
+
+    public CalendarViewRenderBenchmark(boolean canvasRenderingEnabled) {
+        mCanvasRenderingEnabled = canvasRenderingEnabled;
+    }
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "canvasRenderingEnabled={0}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[]{false}, new Object[]{true});
+    }
+
+    @BeforeClass
+    public static void setUpTimeZone() {
+        // UTC has no DST changes, so results don't depend on a time zone of the machine
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+    }
+
+    @Before
+    public void setUp() {
+        mActivity = Robolectric.buildActivity(Activity.class).setup().get();
+
+        int today = DateUtils.getToday();
+
+        // Data sets are shifted by one day, so every run changes displayed days
+        mEvents = createEvents(today);
+        mShiftedEvents = createEvents(today + 1);
+        mRange = createRange(today);
+        mShiftedRange = createRange(today + 1);
+
+        mCalendarView = createCalendarView();
+        mCalendarView.setEvents(mEvents);
+        mCalendarView.setDisabledDays(createRange(today + RANGE_LENGTH + 7));
+        mCalendarView.setSelectedDates(mRange);
+
+        mActivity.setContentView(mCalendarView);
+        mViewPager = mCalendarView.findViewById(R.id.calendarViewPager);
+        layout();
+    }
+
+    @AfterClass
+    public static void writeResults() throws IOException {
+        File reports = new File("build/reports");
+
+        if (!reports.exists() && !reports.mkdirs()) {
+            throw new IOException("Cannot create " + reports.getAbsolutePath());
+        }
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(new File(reports, "renderBenchmark.txt")))) {
+            writer.println(String.format("%-36s %12s %14s %8s", "operation", "ms/op", "KB/op", "views"));
+
+            for (String result : sResults) {
+                writer.println(result);
+            }
+        }
+    }
+
+    @Test
+    public void inflate() {
+        measure("inflate", () -> {
+            mCalendarView = createCalendarView();
+            mCalendarView.setEvents(mEvents);
+            mActivity.setContentView(mCalendarView);
+            layout();
+        });
+    }
+
+    @Test
+    public void swipe() {
+        measure("swipe", () -> {
+            mViewPager.setCurrentItem(mViewPager.getCurrentItem() + 1);
+            layout();
+        });
+    }
+
+    @Test
+    public void setEvents() {
+        measure("setEvents", () -> {
+            mCalendarView.setEvents(mRun % 2 == 0 ? mShiftedEvents : mEvents);
+            layout();
+        });
+    }
+
+    @Test
+    public void selectRange() {
+        measure("selectRange", () -> {
+            mCalendarView.setSelectedDates(mRun % 2 == 0 ? mShiftedRange : mRange);
+            layout();
+        });
+    }
+
+    private CalendarView createCalendarView() {
+        AttributeSet attributes = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.type, "range_picker")
+                .addAttribute(R.attr.eventsEnabled, "true")
+                .addAttribute(R.attr.canvasRenderingEnabled, String.valueOf(mCanvasRenderingEnabled))
+                .build();
+
+        return new CalendarView(mActivity, attributes);
+    }
+
+    private void layout() {
+        mCalendarView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.AT_MOST));
+        mCalendarView.layout(0, 0, mCalendarView.getMeasuredWidth(), mCalendarView.getMeasuredHeight());
+    }
+
+    private void measure(String operation, Runnable runnable) {
+        for (mRun = 0; mRun < WARM_UP_RUNS; mRun++) {
+            runnable.run();
+        }
+
+        long allocatedBytes = getAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        for (mRun = 0; mRun < MEASURED_RUNS; mRun++) {
+            runnable.run();
+        }
+
+        double millis = (System.nanoTime() - startTime) / 1e6 / MEASURED_RUNS;
+        double kilobytes = (getAllocatedBytes() - allocatedBytes) / 1024.0 / MEASURED_RUNS;
+
+        String name = operation + (mCanvasRenderingEnabled ? " (canvas)" : " (views)");
+        sResults.add(String.format("%-36s %12.3f %14.1f %8d", name, millis, kilobytes, countViews(mCalendarView)));
+
+        assertWithinBudget(name, "ms", millis, "renderBenchmark.maxMillis");
+        assertWithinBudget(name, "KB", kilobytes, "renderBenchmark.maxKilobytes");
+    }
+
+    private static void assertWithinBudget(String operation, String unit, double value, String property) {
+        String budget = System.getProperty(property);
+
+        if (budget != null) {
+            assertTrue(String.format("%s took %.3f %s, budget is %s %s", operation, value, unit, budget, unit),
+                    value <= Double.parseDouble(budget));
+        }
+    }
+
+    // Allocation counters are supported by HotSpot based JVMs, other JVMs report zero
+    private static long getAllocatedBytes() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadBean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        return 0;
+    }
+
+    private static int countViews(View view) {
+        int count = 1;
+
+        if (view instanceof ViewGroup) {
+            ViewGroup viewGroup = (ViewGroup) view;
+
+            for (int i = 0; i < viewGroup.getChildCount(); i++) {
+                count += countViews(viewGroup.getChildAt(i));
+            }
+        }
+
+        return count;
+    }
+
+    private static List<EventDay> createEvents(int firstDay) {
+        List<EventDay> events = new ArrayList<>(EVENTS_COUNT);
+
+        // Events are spread over two months around today, so displayed pages have many events
+        for (int i = 0; i < EVENTS_COUNT; i++) {
+            events.add(new EventDay(DateUtils.getCalendar(firstDay - 30 + i % 60), R.drawable.ic_arrow_right));
+        }
+
+        return events;
+    }
+
+    private static List<Calendar> createRange(int firstDay) {
+        List<Calendar> days = new ArrayList<>(RANGE_LENGTH);
+
+        for (int i = 0; i < RANGE_LENGTH; i++) {
+            days.add(DateUtils.getCalendar(firstDay + i));
+        }
+
+        return days;
+    }
+}